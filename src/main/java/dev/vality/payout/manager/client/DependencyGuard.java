@@ -0,0 +1,193 @@
+package dev.vality.payout.manager.client;
+
+import dev.vality.payout.manager.exception.DependencyUnavailableException;
+import dev.vality.woody.api.flow.error.WRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class DependencyGuard {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openStateDuration;
+    private final long maxWaitDuration;
+    private final boolean[] window;
+    private final Semaphore bulkhead;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private boolean halfOpenCallInFlight;
+
+    public DependencyGuard(
+            String name,
+            int failureRateThreshold,
+            int slidingWindowSize,
+            int minimumCalls,
+            long openStateDuration,
+            int maxConcurrentCalls,
+            long maxWaitDuration,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openStateDuration = openStateDuration;
+        this.maxWaitDuration = maxWaitDuration;
+        this.window = new boolean[slidingWindowSize];
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.succeeded = callCounter(meterRegistry, "success");
+        this.failed = callCounter(meterRegistry, "failure");
+        this.rejected = callCounter(meterRegistry, "rejected");
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("dependency.circuit.state", this, guard -> guard.getState().ordinal())
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("dependency.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openStateDuration) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> iface, T client) {
+        return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(client, args);
+            }
+            State admittedIn = acquirePermission();
+            var sample = Timer.start(meterRegistry);
+            try {
+                Object result = method.invoke(client, args);
+                onResult(admittedIn, false);
+                sample.stop(callTimer(method.getName(), "success"));
+                return result;
+            } catch (InvocationTargetException ex) {
+                boolean failure = ex.getCause() instanceof WRuntimeException;
+                onResult(admittedIn, failure);
+                sample.stop(callTimer(method.getName(), failure ? "failure" : "error"));
+                throw ex.getCause();
+            } finally {
+                bulkhead.release();
+            }
+        });
+    }
+
+    private State acquirePermission() throws InterruptedException {
+        State admittedIn = tryAcquireCircuit();
+        if (admittedIn == State.OPEN) {
+            rejected.increment();
+            throw new DependencyUnavailableException(
+                    String.format("Circuit breaker is open, dependency='%s'", name));
+        }
+        if (!bulkhead.tryAcquire(maxWaitDuration, TimeUnit.MILLISECONDS)) {
+            releaseCircuit(admittedIn);
+            rejected.increment();
+            throw new DependencyUnavailableException(
+                    String.format("Bulkhead is full, dependency='%s'", name));
+        }
+        return admittedIn;
+    }
+
+    private synchronized State tryAcquireCircuit() {
+        State current = getState();
+        if (current == State.HALF_OPEN) {
+            if (halfOpenCallInFlight) {
+                return State.OPEN;
+            }
+            halfOpenCallInFlight = true;
+        }
+        return current;
+    }
+
+    private synchronized void releaseCircuit(State admittedIn) {
+        if (admittedIn == State.HALF_OPEN) {
+            halfOpenCallInFlight = false;
+        }
+    }
+
+    private synchronized void onResult(State admittedIn, boolean failure) {
+        (failure ? failed : succeeded).increment();
+        if (admittedIn == State.HALF_OPEN) {
+            halfOpenCallInFlight = false;
+            if (state == State.HALF_OPEN) {
+                transitionTo(failure ? State.OPEN : State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (windowCalls == window.length) {
+            windowFailures -= window[windowPosition] ? 1 : 0;
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        windowFailures += failure ? 1 : 0;
+        windowPosition = (windowPosition + 1) % window.length;
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Dependency circuit breaker state has been changed, dependency='{}', from={}, to={}",
+                name, state, newState);
+        state = newState;
+        if (newState == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (newState == State.CLOSED) {
+            windowPosition = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+    }
+
+    private Timer callTimer(String method, String outcome) {
+        return Timer.builder("dependency.call.duration")
+                .tags("dependency", name, "method", method, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("dependency.calls")
+                .tags("dependency", name, "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package dev.vality.payout.manager.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class DependencyHealthIndicator extends AbstractHealthIndicator {
+
+    private final List<DependencyGuard> dependencyGuards;
+    private final RetryBudget shumwayRetryBudget;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        builder.up();
+        for (DependencyGuard guard : dependencyGuards) {
+            builder.withDetail(guard.getName(), Map.of(
+                    "circuitState", guard.getState(),
+                    "availableConcurrentCalls", guard.getAvailableConcurrentCalls()));
+        }
+        builder.withDetail("shumwayRetryBudgetTokens", shumwayRetryBudget.getTokens());
+    }
+}
@@ -0,0 +1,43 @@
+package dev.vality.payout.manager.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class RetryBudget {
+
+    private final double depositPerCall;
+    private final double maxTokens;
+    private final Counter exhausted;
+
+    private double tokens;
+
+    public RetryBudget(String name, double retryRatio, int maxTokens, MeterRegistry meterRegistry) {
+        this.depositPerCall = retryRatio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+        this.exhausted = Counter.builder("dependency.retry.budget.exhausted")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("dependency.retry.budget.tokens", this, RetryBudget::getTokens)
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public synchronized void onCall() {
+        tokens = Math.min(maxTokens, tokens + depositPerCall);
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        exhausted.increment();
+        return false;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.vality.payout.manager.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+
+@RequiredArgsConstructor
+public class RetryBudgetPolicy implements RetryPolicy {
+
+    private final RetryPolicy delegate;
+    private final RetryBudget retryBudget;
+
+    @Override
+    public boolean canRetry(RetryContext context) {
+        return delegate.canRetry(context);
+    }
+
+    @Override
+    public RetryContext open(RetryContext parent) {
+        retryBudget.onCall();
+        return delegate.open(parent);
+    }
+
+    @Override
+    public void close(RetryContext context) {
+        delegate.close(context);
+    }
+
+    @Override
+    public void registerThrowable(RetryContext context, Throwable throwable) {
+        delegate.registerThrowable(context, throwable);
+        if (delegate.canRetry(context) && !retryBudget.tryAcquireRetry()) {
+            context.setExhaustedOnly();
+        }
+    }
+}
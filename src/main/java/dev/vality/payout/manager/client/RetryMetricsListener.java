@@ -0,0 +1,52 @@
+package dev.vality.payout.manager.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+public class RetryMetricsListener implements RetryListener {
+
+    private final Counter retries;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public RetryMetricsListener(String name, MeterRegistry meterRegistry) {
+        this.retries = Counter.builder("dependency.retries")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        this.succeeded = callCounter(name, "success", meterRegistry);
+        this.failed = callCounter(name, "failure", meterRegistry);
+    }
+
+    @Override
+    public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+        return true;
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(
+            RetryContext context,
+            RetryCallback<T, E> callback,
+            Throwable throwable) {
+        int attempts = context.getRetryCount() + (throwable == null ? 1 : 0);
+        if (attempts > 1) {
+            retries.increment(attempts - 1);
+        }
+        (throwable == null ? succeeded : failed).increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(
+            RetryContext context,
+            RetryCallback<T, E> callback,
+            Throwable throwable) {
+    }
+
+    private static Counter callCounter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("dependency.retry.calls")
+                .tags("dependency", name, "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
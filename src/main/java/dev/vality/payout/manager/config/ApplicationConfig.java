@@ -3,13 +3,19 @@ package dev.vality.payout.manager.config;
 import dev.vality.damsel.accounter.AccounterSrv;
 import dev.vality.damsel.payment_processing.PartyManagementSrv;
 import dev.vality.fistful.deposit.ManagementSrv;
+import dev.vality.payout.manager.client.DependencyGuard;
+import dev.vality.payout.manager.util.VirtualThreads;
 import dev.vality.woody.thrift.impl.http.THSpawnClientBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class ApplicationConfig {
@@ -17,31 +23,116 @@ public class ApplicationConfig {
     @Bean
     public AccounterSrv.Iface shumwayClient(
             @Value("${service.shumway.url}") Resource resource,
-            @Value("${service.shumway.networkTimeout}") int networkTimeout
+            @Value("${service.shumway.networkTimeout}") int networkTimeout,
+            DependencyGuard shumwayGuard
     ) throws IOException {
-        return new THSpawnClientBuilder()
+        return shumwayGuard.wrap(AccounterSrv.Iface.class, new THSpawnClientBuilder()
                 .withAddress(resource.getURI())
                 .withNetworkTimeout(networkTimeout)
-                .build(AccounterSrv.Iface.class);
+                .build(AccounterSrv.Iface.class));
     }
 
     @Bean
     public PartyManagementSrv.Iface partyManagementClient(
             @Value("${service.partyManagement.url}") Resource resource,
-            @Value("${service.partyManagement.networkTimeout}") int networkTimeout
+            @Value("${service.partyManagement.networkTimeout}") int networkTimeout,
+            DependencyGuard partyManagementGuard
     ) throws IOException {
-        return new THSpawnClientBuilder()
+        return partyManagementGuard.wrap(PartyManagementSrv.Iface.class, new THSpawnClientBuilder()
                 .withNetworkTimeout(networkTimeout)
-                .withAddress(resource.getURI()).build(PartyManagementSrv.Iface.class);
+                .withAddress(resource.getURI()).build(PartyManagementSrv.Iface.class));
     }
 
     @Bean
     public ManagementSrv.Iface fistfulDepositClient(
             @Value("${service.fistful.deposit.url}") Resource resource,
-            @Value("${service.fistful.deposit.networkTimeout}") int networkTimeout
+            @Value("${service.fistful.deposit.networkTimeout}") int networkTimeout,
+            DependencyGuard fistfulGuard
     ) throws IOException {
-        return new THSpawnClientBuilder()
+        return fistfulGuard.wrap(ManagementSrv.Iface.class, new THSpawnClientBuilder()
                 .withNetworkTimeout(networkTimeout)
-                .withAddress(resource.getURI()).build(ManagementSrv.Iface.class);
+                .withAddress(resource.getURI()).build(ManagementSrv.Iface.class));
+    }
+
+    @Bean
+    public DependencyGuard shumwayGuard(
+            @Value("${service.shumway.guard.failureRateThreshold}") int failureRateThreshold,
+            @Value("${service.shumway.guard.slidingWindowSize}") int slidingWindowSize,
+            @Value("${service.shumway.guard.minimumCalls}") int minimumCalls,
+            @Value("${service.shumway.guard.openStateDuration}") long openStateDuration,
+            @Value("${service.shumway.guard.maxConcurrentCalls}") int maxConcurrentCalls,
+            @Value("${service.shumway.guard.maxWaitDuration}") long maxWaitDuration,
+            MeterRegistry meterRegistry) {
+        return new DependencyGuard("shumway", failureRateThreshold, slidingWindowSize, minimumCalls,
+                openStateDuration, maxConcurrentCalls, maxWaitDuration, meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard partyManagementGuard(
+            @Value("${service.partyManagement.guard.failureRateThreshold}") int failureRateThreshold,
+            @Value("${service.partyManagement.guard.slidingWindowSize}") int slidingWindowSize,
+            @Value("${service.partyManagement.guard.minimumCalls}") int minimumCalls,
+            @Value("${service.partyManagement.guard.openStateDuration}") long openStateDuration,
+            @Value("${service.partyManagement.guard.maxConcurrentCalls}") int maxConcurrentCalls,
+            @Value("${service.partyManagement.guard.maxWaitDuration}") long maxWaitDuration,
+            MeterRegistry meterRegistry) {
+        return new DependencyGuard("partyManagement", failureRateThreshold, slidingWindowSize, minimumCalls,
+                openStateDuration, maxConcurrentCalls, maxWaitDuration, meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard fistfulGuard(
+            @Value("${service.fistful.deposit.guard.failureRateThreshold}") int failureRateThreshold,
+            @Value("${service.fistful.deposit.guard.slidingWindowSize}") int slidingWindowSize,
+            @Value("${service.fistful.deposit.guard.minimumCalls}") int minimumCalls,
+            @Value("${service.fistful.deposit.guard.openStateDuration}") long openStateDuration,
+            @Value("${service.fistful.deposit.guard.maxConcurrentCalls}") int maxConcurrentCalls,
+            @Value("${service.fistful.deposit.guard.maxWaitDuration}") long maxWaitDuration,
+            MeterRegistry meterRegistry) {
+        return new DependencyGuard("fistful", failureRateThreshold, slidingWindowSize, minimumCalls,
+                openStateDuration, maxConcurrentCalls, maxWaitDuration, meterRegistry);
+    }
+
+    @Bean
+    public Executor payoutCreateExecutor(
+            @Value("${payout.create.executor.poolSize}") int poolSize,
+            @Value("${payout.create.executor.queueCapacity}") int queueCapacity,
+            @Value("${payout.threads.virtual}") boolean virtualThreads) {
+        if (virtualThreads && VirtualThreads.isAvailable()) {
+            return VirtualThreads.newBoundedVirtualThreadPerTaskExecutor(poolSize + queueCapacity).orElseThrow();
+        }
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payout-create-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor sourceLaneExecutor(
+            @Value("${kafka.topic.source.consume.lanes}") int lanes,
+            @Value("${kafka.topic.source.consume.concurrency}") int concurrency) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(lanes, 1));
+        executor.setMaxPoolSize(Math.max(lanes, 1));
+        executor.setQueueCapacity(Math.max(lanes, 1) * concurrency);
+        executor.setThreadNamePrefix("source-lane-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor payoutBulkExecutor(
+            @Value("${payout.bulk.parallelism}") int parallelism,
+            @Value("${payout.bulk.maxSize}") int maxSize) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(maxSize);
+        executor.setThreadNamePrefix("payout-bulk-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
     }
 }
@@ -30,6 +30,8 @@ public class KafkaConfig {
 
     @Value("${kafka.topic.source.consume.concurrency}")
     private int sourceConcurrency;
+    @Value("${kafka.topic.party.consume.concurrency}")
+    private int partyConcurrency;
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, SinkEvent> sourceContainerFactory(
@@ -38,11 +40,25 @@ public class KafkaConfig {
         configureContainerFactory(
                 containerFactory,
                 new SinkEventDeserializer(),
-                kafkaProperties);
+                kafkaProperties,
+                "-source");
         containerFactory.setConcurrency(sourceConcurrency);
         return containerFactory;
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SinkEvent> partyContainerFactory(
+            KafkaProperties kafkaProperties) {
+        var containerFactory = new ConcurrentKafkaListenerContainerFactory<String, SinkEvent>();
+        configureContainerFactory(
+                containerFactory,
+                new SinkEventDeserializer(),
+                kafkaProperties,
+                "-party");
+        containerFactory.setConcurrency(partyConcurrency);
+        return containerFactory;
+    }
+
     @Bean
     public KafkaTemplate<String, Event> kafkaTemplate(KafkaProperties kafkaProperties) {
         return new KafkaTemplate<>(producerFactory(kafkaProperties));
@@ -51,17 +67,24 @@ public class KafkaConfig {
     private <T> void configureContainerFactory(
             ConcurrentKafkaListenerContainerFactory<String, T> containerFactory,
             Deserializer<T> deserializer,
-            KafkaProperties kafkaProperties) {
+            KafkaProperties kafkaProperties,
+            String clientIdSuffix) {
         var consumerFactory = createKafkaConsumerFactory(
                 deserializer,
-                kafkaProperties);
+                kafkaProperties,
+                clientIdSuffix);
         containerFactory.setConsumerFactory(consumerFactory);
         containerFactory.setBatchErrorHandler(new SeekToCurrentBatchErrorHandler());
         containerFactory.setBatchListener(true);
         containerFactory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
     }
 
-    private ProducerFactory<String, Event> producerFactory(KafkaProperties kafkaProperties) {
+    @Bean
+    public KafkaTemplate<String, SinkEvent> sourceDeadLetterKafkaTemplate(KafkaProperties kafkaProperties) {
+        return new KafkaTemplate<>(producerFactory(kafkaProperties));
+    }
+
+    private <T> ProducerFactory<String, T> producerFactory(KafkaProperties kafkaProperties) {
         Map<String, Object> config = kafkaProperties.buildProducerProperties();
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ThriftSerializer.class);
@@ -70,14 +93,15 @@ public class KafkaConfig {
 
     private <T> DefaultKafkaConsumerFactory<String, T> createKafkaConsumerFactory(
             Deserializer<T> deserializer,
-            KafkaProperties kafkaProperties) {
-        Map<String, Object> properties = defaultProperties(kafkaProperties);
+            KafkaProperties kafkaProperties,
+            String clientIdSuffix) {
+        Map<String, Object> properties = defaultProperties(kafkaProperties, clientIdSuffix);
         return new DefaultKafkaConsumerFactory<>(properties, new StringDeserializer(), deserializer);
     }
 
-    private Map<String, Object> defaultProperties(KafkaProperties kafkaProperties) {
+    private Map<String, Object> defaultProperties(KafkaProperties kafkaProperties, String clientIdSuffix) {
         Map<String, Object> properties = kafkaProperties.buildConsumerProperties();
-        properties.put(ConsumerConfig.CLIENT_ID_CONFIG, kafkaProperties.getConsumer().getClientId() + "-source");
+        properties.put(ConsumerConfig.CLIENT_ID_CONFIG, kafkaProperties.getConsumer().getClientId() + clientIdSuffix);
         properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, EARLIEST.name().toLowerCase());
         properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         return properties;
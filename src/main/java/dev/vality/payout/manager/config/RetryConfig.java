@@ -1,6 +1,10 @@
 package dev.vality.payout.manager.config;
 
+import dev.vality.payout.manager.client.RetryBudget;
+import dev.vality.payout.manager.client.RetryBudgetPolicy;
+import dev.vality.payout.manager.client.RetryMetricsListener;
 import dev.vality.woody.api.flow.error.WUnavailableResultException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,12 +21,21 @@ public class RetryConfig {
     private int maxAttempts;
 
     @Bean
-    public RetryTemplate retryTemplate() {
+    public RetryBudget shumwayRetryBudget(
+            @Value("${retry-policy.budget.retryRatio}") double retryRatio,
+            @Value("${retry-policy.budget.maxTokens}") int maxTokens,
+            MeterRegistry meterRegistry) {
+        return new RetryBudget("shumway", retryRatio, maxTokens, meterRegistry);
+    }
+
+    @Bean
+    public RetryTemplate retryTemplate(RetryBudget shumwayRetryBudget, MeterRegistry meterRegistry) {
         RetryTemplate retryTemplate = new RetryTemplate();
-        retryTemplate.setRetryPolicy(
-                new SimpleRetryPolicy(maxAttempts, Collections.singletonMap(WUnavailableResultException.class, true))
-        );
+        retryTemplate.setRetryPolicy(new RetryBudgetPolicy(
+                new SimpleRetryPolicy(maxAttempts, Collections.singletonMap(WUnavailableResultException.class, true)),
+                shumwayRetryBudget));
         retryTemplate.setBackOffPolicy(new ExponentialBackOffPolicy());
+        retryTemplate.registerListener(new RetryMetricsListener("shumway", meterRegistry));
         return retryTemplate;
     }
 }
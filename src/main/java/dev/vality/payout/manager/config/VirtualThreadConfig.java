@@ -0,0 +1,26 @@
+package dev.vality.payout.manager.config;
+
+import dev.vality.payout.manager.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "payout.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return factory -> VirtualThreads.newVirtualThreadPerTaskExecutor().ifPresentOrElse(
+                executor -> {
+                    log.info("Tomcat requests will run on virtual threads");
+                    factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(executor));
+                },
+                () -> log.warn("Virtual threads are not available on Java {}, keeping platform request threads",
+                        Runtime.version().feature()));
+    }
+}
@@ -3,6 +3,7 @@ package dev.vality.payout.manager.dao;
 import dev.vality.dao.DaoException;
 import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CashFlowPostingDao {
@@ -11,4 +12,10 @@ public interface CashFlowPostingDao {
 
     List<CashFlowPosting> getByPayoutId(String payoutId) throws DaoException;
 
+    List<CashFlowPosting> getByPayoutIds(Collection<String> payoutIds) throws DaoException;
+
+    void removeByPayoutId(String payoutId) throws DaoException;
+
+    void createPartitions(int monthsAhead) throws DaoException;
+
 }
@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+
+public interface PartyPayoutToolDao {
+
+    void save(PartyPayoutTool partyPayoutTool) throws DaoException;
+
+    PartyPayoutTool get(String partyId, String contractId, String payoutToolId) throws DaoException;
+
+}
@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.tables.pojos.PartyRevision;
+
+public interface PartyRevisionDao {
+
+    void save(PartyRevision partyRevision) throws DaoException;
+
+    PartyRevision get(String partyId) throws DaoException;
+
+}
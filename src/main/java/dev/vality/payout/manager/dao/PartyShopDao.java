@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+
+public interface PartyShopDao {
+
+    void save(PartyShop partyShop) throws DaoException;
+
+    PartyShop get(String partyId, String shopId) throws DaoException;
+
+}
@@ -2,7 +2,15 @@ package dev.vality.payout.manager.dao;
 
 import dev.vality.dao.DaoException;
 import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.model.PayoutSearchFilter;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
 
 public interface PayoutDao {
 
@@ -10,12 +18,36 @@ public interface PayoutDao {
 
     Payout getForUpdate(String payoutId) throws DaoException;
 
+    List<Payout> getForUpdate(Collection<String> payoutIds) throws DaoException;
+
+    PayoutWithCashFlowPostings getWithCashFlowPostings(String payoutId) throws DaoException;
+
+    void export(
+            LocalDateTime fromTime,
+            LocalDateTime toTime,
+            BiConsumer<Payout, CashFlowPosting> consumer) throws DaoException;
+
+    List<Payout> search(
+            PayoutSearchFilter filter,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit) throws DaoException;
+
+    List<String> getExistingPayoutIds(Collection<String> payoutIds) throws DaoException;
+
     long save(Payout payout) throws DaoException;
 
+    void saveAll(List<Payout> payouts) throws DaoException;
+
     default void changeStatus(String payoutId, PayoutStatus payoutStatus) throws DaoException {
         changeStatus(payoutId, payoutStatus, null);
     }
 
     void changeStatus(String payoutId, PayoutStatus payoutStatus, String cancelDetails) throws DaoException;
 
+    void changeStatus(Collection<String> payoutIds, PayoutStatus payoutStatus, String cancelDetails)
+            throws DaoException;
+
+    void remove(String payoutId) throws DaoException;
+
 }
@@ -0,0 +1,18 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutEvent;
+
+import java.util.List;
+
+public interface PayoutEventDao {
+
+    void save(PayoutEvent payoutEvent) throws DaoException;
+
+    void saveAll(List<PayoutEvent> payoutEvents) throws DaoException;
+
+    List<PayoutEvent> getBatchForUpdate(int limit) throws DaoException;
+
+    void remove(List<Long> ids) throws DaoException;
+
+}
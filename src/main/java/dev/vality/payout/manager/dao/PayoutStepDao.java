@@ -0,0 +1,35 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PayoutStepDao {
+
+    long save(PayoutStep payoutStep) throws DaoException;
+
+    List<PayoutStep> saveAll(List<PayoutStep> payoutSteps) throws DaoException;
+
+    List<PayoutStep> getPendingByPayoutId(String payoutId) throws DaoException;
+
+    List<PayoutStep> getPendingByPayoutIds(Collection<String> payoutIds) throws DaoException;
+
+    PayoutStep getLast(String payoutId, PayoutStepType type) throws DaoException;
+
+    List<PayoutStep> claimPending(int limit, LocalDateTime now, LocalDateTime leaseUntil) throws DaoException;
+
+    boolean markSucceeded(long id) throws DaoException;
+
+    boolean markFailed(long id, String error) throws DaoException;
+
+    boolean renewLease(long id, LocalDateTime leaseUntil) throws DaoException;
+
+    void scheduleRetry(long id, LocalDateTime nextAttemptAt, String error) throws DaoException;
+
+    void removeByPayoutId(String payoutId) throws DaoException;
+
+}
@@ -4,6 +4,8 @@ import dev.vality.dao.DaoException;
 import dev.vality.dao.GenericDao;
 import dev.vality.payout.manager.domain.tables.pojos.Source;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SourceDao extends GenericDao {
@@ -12,6 +14,10 @@ public interface SourceDao extends GenericDao {
 
     Source get(String sourceId) throws DaoException;
 
-    Source getAuthorizedByCurrencyCode(String currencyCode) throws DaoException;
+    List<Source> getAll() throws DaoException;
+
+    List<Source> getBySourceIds(Collection<String> sourceIds) throws DaoException;
+
+    void saveAll(Collection<Source> sources) throws DaoException;
 
 }
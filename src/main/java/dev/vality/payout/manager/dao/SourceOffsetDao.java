@@ -0,0 +1,15 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SourceOffsetDao {
+
+    void saveAll(Collection<SourceOffset> sourceOffsets) throws DaoException;
+
+    List<SourceOffset> getByTopic(String topic) throws DaoException;
+
+}
@@ -6,13 +6,18 @@ import dev.vality.dao.impl.AbstractGenericDao;
 import dev.vality.mapper.RecordRowMapper;
 import dev.vality.payout.manager.dao.CashFlowPostingDao;
 import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.records.CashFlowPostingRecord;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
 import org.jooq.Query;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static dev.vality.payout.manager.domain.tables.CashFlowPosting.CASH_FLOW_POSTING;
 
@@ -29,11 +34,18 @@ public class CashFlowPostingDaoImpl extends AbstractGenericDao implements CashFl
 
     @Override
     public void save(List<CashFlowPosting> cashFlowPostings) throws DaoException {
-        List<Query> queries = cashFlowPostings.stream()
-                .map(cashFlowPosting -> getDslContext().insertInto(CASH_FLOW_POSTING)
-                        .set(getDslContext().newRecord(CASH_FLOW_POSTING, cashFlowPosting)))
-                .collect(Collectors.toList());
-        batchExecute(queries);
+        if (cashFlowPostings.isEmpty()) {
+            return;
+        }
+        List<Field<?>> fields = Stream.of(CASH_FLOW_POSTING.fields())
+                .filter(field -> !field.equals(CASH_FLOW_POSTING.ID))
+                .toList();
+        InsertValuesStepN<CashFlowPostingRecord> insert = getDslContext().insertInto(CASH_FLOW_POSTING, fields);
+        for (CashFlowPosting cashFlowPosting : cashFlowPostings) {
+            CashFlowPostingRecord record = getDslContext().newRecord(CASH_FLOW_POSTING, cashFlowPosting);
+            insert = insert.values(fields.stream().map(record::get).toList());
+        }
+        execute(insert);
     }
 
     @Override
@@ -42,4 +54,26 @@ public class CashFlowPostingDaoImpl extends AbstractGenericDao implements CashFl
                 .where(CASH_FLOW_POSTING.PAYOUT_ID.eq(payoutId));
         return fetch(query, cashFlowPostingRowMapper);
     }
+
+    @Override
+    public List<CashFlowPosting> getByPayoutIds(Collection<String> payoutIds) throws DaoException {
+        Query query = getDslContext().selectFrom(CASH_FLOW_POSTING)
+                .where(CASH_FLOW_POSTING.PAYOUT_ID.eq(DSL.any(payoutIds.toArray(String[]::new))))
+                .orderBy(CASH_FLOW_POSTING.ID);
+        return fetch(query, cashFlowPostingRowMapper);
+    }
+
+    @Override
+    public void removeByPayoutId(String payoutId) throws DaoException {
+        Query query = getDslContext().deleteFrom(CASH_FLOW_POSTING)
+                .where(CASH_FLOW_POSTING.PAYOUT_ID.eq(payoutId));
+        execute(query);
+    }
+
+    @Override
+    public void createPartitions(int monthsAhead) throws DaoException {
+        Query query = getDslContext().query(
+                "select pm.create_cash_flow_posting_partitions({0})", DSL.val(monthsAhead));
+        fetch(query, (resultSet, i) -> null);
+    }
 }
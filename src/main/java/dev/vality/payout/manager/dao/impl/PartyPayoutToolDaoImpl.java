@@ -0,0 +1,53 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.PartyPayoutToolDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import dev.vality.payout.manager.domain.tables.records.PartyPayoutToolRecord;
+import org.jooq.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import static dev.vality.payout.manager.domain.tables.PartyPayoutTool.PARTY_PAYOUT_TOOL;
+
+@Component
+public class PartyPayoutToolDaoImpl extends AbstractGenericDao implements PartyPayoutToolDao {
+
+    private final RowMapper<PartyPayoutTool> partyPayoutToolRowMapper;
+
+    @Autowired
+    public PartyPayoutToolDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        partyPayoutToolRowMapper = new RecordRowMapper<>(PARTY_PAYOUT_TOOL, PartyPayoutTool.class);
+    }
+
+    @Override
+    public void save(PartyPayoutTool partyPayoutTool) throws DaoException {
+        PartyPayoutToolRecord record = getDslContext().newRecord(PARTY_PAYOUT_TOOL, partyPayoutTool);
+        Query query = getDslContext()
+                .insertInto(PARTY_PAYOUT_TOOL)
+                .set(record)
+                .onConflict(
+                        PARTY_PAYOUT_TOOL.PARTY_ID,
+                        PARTY_PAYOUT_TOOL.CONTRACT_ID,
+                        PARTY_PAYOUT_TOOL.PAYOUT_TOOL_ID)
+                .doUpdate()
+                .set(record)
+                .where(PARTY_PAYOUT_TOOL.EVENT_ID.le(partyPayoutTool.getEventId()));
+        execute(query);
+    }
+
+    @Override
+    public PartyPayoutTool get(String partyId, String contractId, String payoutToolId) throws DaoException {
+        Query query = getDslContext().selectFrom(PARTY_PAYOUT_TOOL)
+                .where(PARTY_PAYOUT_TOOL.PARTY_ID.eq(partyId)
+                        .and(PARTY_PAYOUT_TOOL.CONTRACT_ID.eq(contractId))
+                        .and(PARTY_PAYOUT_TOOL.PAYOUT_TOOL_ID.eq(payoutToolId)));
+        return fetchOne(query, partyPayoutToolRowMapper);
+    }
+}
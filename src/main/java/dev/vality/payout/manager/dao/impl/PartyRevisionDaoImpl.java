@@ -0,0 +1,48 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.PartyRevisionDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyRevision;
+import dev.vality.payout.manager.domain.tables.records.PartyRevisionRecord;
+import org.jooq.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import static dev.vality.payout.manager.domain.tables.PartyRevision.PARTY_REVISION;
+
+@Component
+public class PartyRevisionDaoImpl extends AbstractGenericDao implements PartyRevisionDao {
+
+    private final RowMapper<PartyRevision> partyRevisionRowMapper;
+
+    @Autowired
+    public PartyRevisionDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        partyRevisionRowMapper = new RecordRowMapper<>(PARTY_REVISION, PartyRevision.class);
+    }
+
+    @Override
+    public void save(PartyRevision partyRevision) throws DaoException {
+        PartyRevisionRecord record = getDslContext().newRecord(PARTY_REVISION, partyRevision);
+        Query query = getDslContext()
+                .insertInto(PARTY_REVISION)
+                .set(record)
+                .onConflict(PARTY_REVISION.PARTY_ID)
+                .doUpdate()
+                .set(record)
+                .where(PARTY_REVISION.EVENT_ID.le(partyRevision.getEventId()));
+        execute(query);
+    }
+
+    @Override
+    public PartyRevision get(String partyId) throws DaoException {
+        Query query = getDslContext().selectFrom(PARTY_REVISION)
+                .where(PARTY_REVISION.PARTY_ID.eq(partyId));
+        return fetchOne(query, partyRevisionRowMapper);
+    }
+}
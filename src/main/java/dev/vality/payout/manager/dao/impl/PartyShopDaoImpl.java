@@ -0,0 +1,49 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.PartyShopDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import dev.vality.payout.manager.domain.tables.records.PartyShopRecord;
+import org.jooq.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import static dev.vality.payout.manager.domain.tables.PartyShop.PARTY_SHOP;
+
+@Component
+public class PartyShopDaoImpl extends AbstractGenericDao implements PartyShopDao {
+
+    private final RowMapper<PartyShop> partyShopRowMapper;
+
+    @Autowired
+    public PartyShopDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        partyShopRowMapper = new RecordRowMapper<>(PARTY_SHOP, PartyShop.class);
+    }
+
+    @Override
+    public void save(PartyShop partyShop) throws DaoException {
+        PartyShopRecord record = getDslContext().newRecord(PARTY_SHOP, partyShop);
+        Query query = getDslContext()
+                .insertInto(PARTY_SHOP)
+                .set(record)
+                .onConflict(PARTY_SHOP.PARTY_ID, PARTY_SHOP.SHOP_ID)
+                .doUpdate()
+                .set(record)
+                .where(PARTY_SHOP.EVENT_ID.le(partyShop.getEventId()));
+        execute(query);
+    }
+
+    @Override
+    public PartyShop get(String partyId, String shopId) throws DaoException {
+        Query query = getDslContext().selectFrom(PARTY_SHOP)
+                .where(PARTY_SHOP.PARTY_ID.eq(partyId)
+                        .and(PARTY_SHOP.SHOP_ID.eq(shopId)));
+        return fetchOne(query, partyShopRowMapper);
+    }
+}
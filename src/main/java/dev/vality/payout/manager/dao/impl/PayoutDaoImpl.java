@@ -5,28 +5,58 @@ import dev.vality.dao.DaoException;
 import dev.vality.dao.impl.AbstractGenericDao;
 import dev.vality.mapper.RecordRowMapper;
 import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.enums.AccountType;
 import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.domain.tables.records.PayoutRecord;
+import dev.vality.payout.manager.model.PayoutSearchFilter;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
 import org.jooq.Query;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
+import static dev.vality.payout.manager.domain.tables.CashFlowPosting.CASH_FLOW_POSTING;
 import static dev.vality.payout.manager.domain.tables.Payout.PAYOUT;
 
 @Component
 public class PayoutDaoImpl extends AbstractGenericDao implements PayoutDao {
 
+    private static final String POSTING_PREFIX = "posting_";
+
     private final RowMapper<Payout> payoutRowMapper;
+    private final JdbcTemplate exportJdbcTemplate;
 
     @Autowired
-    public PayoutDaoImpl(HikariDataSource dataSource) {
+    public PayoutDaoImpl(
+            HikariDataSource dataSource,
+            @Value("${payout.export.fetchSize}") int exportFetchSize,
+            @Value("${payout.export.queryTimeout}") int exportQueryTimeout) {
         super(dataSource);
         payoutRowMapper = new RecordRowMapper<>(PAYOUT, Payout.class);
+        exportJdbcTemplate = new JdbcTemplate(dataSource);
+        exportJdbcTemplate.setFetchSize(exportFetchSize);
+        exportJdbcTemplate.setQueryTimeout(exportQueryTimeout);
     }
 
     @Override
@@ -46,6 +76,108 @@ public class PayoutDaoImpl extends AbstractGenericDao implements PayoutDao {
         return fetchOne(query, payoutRowMapper);
     }
 
+    @Override
+    public List<Payout> getForUpdate(Collection<String> payoutIds) throws DaoException {
+        Query query = getDslContext().selectFrom(PAYOUT)
+                .where(PAYOUT.PAYOUT_ID.eq(DSL.any(payoutIds.toArray(String[]::new))))
+                .orderBy(PAYOUT.PAYOUT_ID)
+                .forUpdate();
+
+        return fetch(query, payoutRowMapper);
+    }
+
+    @Override
+    public PayoutWithCashFlowPostings getWithCashFlowPostings(String payoutId) throws DaoException {
+        Query query = getDslContext().select(PAYOUT.fields())
+                .select(postingFields())
+                .from(PAYOUT)
+                .leftJoin(CASH_FLOW_POSTING).on(CASH_FLOW_POSTING.PAYOUT_ID.eq(PAYOUT.PAYOUT_ID)
+                        .and(CASH_FLOW_POSTING.CREATED_AT.eq(PAYOUT.CREATED_AT)))
+                .where(PAYOUT.PAYOUT_ID.eq(payoutId))
+                .orderBy(CASH_FLOW_POSTING.ID);
+
+        List<Payout> payouts = new ArrayList<>(1);
+        List<CashFlowPosting> cashFlowPostings = new ArrayList<>();
+        fetch(query, (resultSet, i) -> {
+            if (i == 0) {
+                payouts.add(payoutRowMapper.mapRow(resultSet, i));
+            }
+            if (resultSet.getObject(column(CASH_FLOW_POSTING.ID)) != null) {
+                cashFlowPostings.add(mapCashFlowPosting(resultSet));
+            }
+            return null;
+        });
+        return payouts.isEmpty() ? null : new PayoutWithCashFlowPostings(payouts.get(0), cashFlowPostings);
+    }
+
+    @Override
+    public void export(
+            LocalDateTime fromTime,
+            LocalDateTime toTime,
+            BiConsumer<Payout, CashFlowPosting> consumer) throws DaoException {
+        Query query = getDslContext().select(PAYOUT.fields())
+                .select(postingFields())
+                .from(PAYOUT)
+                .join(CASH_FLOW_POSTING).on(CASH_FLOW_POSTING.PAYOUT_ID.eq(PAYOUT.PAYOUT_ID)
+                        .and(CASH_FLOW_POSTING.CREATED_AT.eq(PAYOUT.CREATED_AT)))
+                .where(PAYOUT.CREATED_AT.ge(fromTime)
+                        .and(PAYOUT.CREATED_AT.lt(toTime)))
+                .orderBy(PAYOUT.CREATED_AT, PAYOUT.ID, CASH_FLOW_POSTING.ID);
+        try {
+            exportJdbcTemplate.query(
+                    query.getSQL(),
+                    resultSet -> consumer.accept(payoutRowMapper.mapRow(resultSet, 0), mapCashFlowPosting(resultSet)),
+                    query.getBindValues().toArray());
+        } catch (NestedRuntimeException ex) {
+            throw new DaoException(ex);
+        }
+    }
+
+    @Override
+    public List<Payout> search(
+            PayoutSearchFilter filter,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit) throws DaoException {
+        Condition condition = DSL.trueCondition();
+        if (filter.getPartyId() != null) {
+            condition = condition.and(PAYOUT.PARTY_ID.eq(filter.getPartyId()));
+        }
+        if (filter.getShopId() != null) {
+            condition = condition.and(PAYOUT.SHOP_ID.eq(filter.getShopId()));
+        }
+        if (filter.getStatus() != null) {
+            condition = condition.and(PAYOUT.STATUS.eq(filter.getStatus()));
+        }
+        if (filter.getCurrencyCode() != null) {
+            condition = condition.and(PAYOUT.CURRENCY_CODE.eq(filter.getCurrencyCode()));
+        }
+        if (filter.getFromTime() != null) {
+            condition = condition.and(PAYOUT.CREATED_AT.ge(filter.getFromTime()));
+        }
+        if (filter.getToTime() != null) {
+            condition = condition.and(PAYOUT.CREATED_AT.lt(filter.getToTime()));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            condition = condition.and(DSL.row(PAYOUT.CREATED_AT, PAYOUT.ID).lt(afterCreatedAt, afterId));
+        }
+        Query query = getDslContext().selectFrom(PAYOUT)
+                .where(condition)
+                .orderBy(PAYOUT.CREATED_AT.desc(), PAYOUT.ID.desc())
+                .limit(limit);
+
+        return fetch(query, payoutRowMapper);
+    }
+
+    @Override
+    public List<String> getExistingPayoutIds(Collection<String> payoutIds) throws DaoException {
+        Query query = getDslContext().select(PAYOUT.PAYOUT_ID)
+                .from(PAYOUT)
+                .where(PAYOUT.PAYOUT_ID.in(payoutIds));
+
+        return fetch(query, (resultSet, i) -> resultSet.getString(PAYOUT.PAYOUT_ID.getName()));
+    }
+
     @Override
     public long save(Payout payout) throws DaoException {
         Query query = getDslContext().insertInto(PAYOUT)
@@ -59,6 +191,22 @@ public class PayoutDaoImpl extends AbstractGenericDao implements PayoutDao {
                 .orElseThrow();
     }
 
+    @Override
+    public void saveAll(List<Payout> payouts) throws DaoException {
+        if (payouts.isEmpty()) {
+            return;
+        }
+        List<Field<?>> fields = Stream.of(PAYOUT.fields())
+                .filter(field -> !field.equals(PAYOUT.ID))
+                .toList();
+        InsertValuesStepN<PayoutRecord> insert = getDslContext().insertInto(PAYOUT, fields);
+        for (Payout payout : payouts) {
+            PayoutRecord record = getDslContext().newRecord(PAYOUT, payout);
+            insert = insert.values(fields.stream().map(record::get).toList());
+        }
+        execute(insert);
+    }
+
     @Override
     public void changeStatus(String payoutId, PayoutStatus payoutStatus, String cancelDetails) throws DaoException {
         Query query = getDslContext().update(PAYOUT)
@@ -69,4 +217,51 @@ public class PayoutDaoImpl extends AbstractGenericDao implements PayoutDao {
 
         executeOne(query);
     }
+
+    @Override
+    public void changeStatus(Collection<String> payoutIds, PayoutStatus payoutStatus, String cancelDetails)
+            throws DaoException {
+        Query query = getDslContext().update(PAYOUT)
+                .set(PAYOUT.STATUS, payoutStatus)
+                .set(PAYOUT.SEQUENCE_ID, PAYOUT.SEQUENCE_ID.plus(1))
+                .set(PAYOUT.CANCEL_DETAILS, cancelDetails)
+                .where(PAYOUT.PAYOUT_ID.eq(DSL.any(payoutIds.toArray(String[]::new))));
+
+        execute(query);
+    }
+
+    @Override
+    public void remove(String payoutId) throws DaoException {
+        Query query = getDslContext().deleteFrom(PAYOUT)
+                .where(PAYOUT.PAYOUT_ID.eq(payoutId));
+        execute(query);
+    }
+
+    private CashFlowPosting mapCashFlowPosting(ResultSet resultSet) throws SQLException {
+        var cashFlowPosting = new CashFlowPosting();
+        cashFlowPosting.setId(resultSet.getLong(column(CASH_FLOW_POSTING.ID)));
+        cashFlowPosting.setPayoutId(resultSet.getString(column(CASH_FLOW_POSTING.PAYOUT_ID)));
+        cashFlowPosting.setCreatedAt(
+                resultSet.getObject(column(CASH_FLOW_POSTING.CREATED_AT), LocalDateTime.class));
+        cashFlowPosting.setFromAccountId(resultSet.getLong(column(CASH_FLOW_POSTING.FROM_ACCOUNT_ID)));
+        cashFlowPosting.setFromAccountType(
+                AccountType.valueOf(resultSet.getString(column(CASH_FLOW_POSTING.FROM_ACCOUNT_TYPE))));
+        cashFlowPosting.setToAccountId(resultSet.getLong(column(CASH_FLOW_POSTING.TO_ACCOUNT_ID)));
+        cashFlowPosting.setToAccountType(
+                AccountType.valueOf(resultSet.getString(column(CASH_FLOW_POSTING.TO_ACCOUNT_TYPE))));
+        cashFlowPosting.setAmount(resultSet.getLong(column(CASH_FLOW_POSTING.AMOUNT)));
+        cashFlowPosting.setCurrencyCode(resultSet.getString(column(CASH_FLOW_POSTING.CURRENCY_CODE)));
+        cashFlowPosting.setDescription(resultSet.getString(column(CASH_FLOW_POSTING.DESCRIPTION)));
+        return cashFlowPosting;
+    }
+
+    private Field<?>[] postingFields() {
+        return Stream.of(CASH_FLOW_POSTING.fields())
+                .map(field -> field.as(column(field)))
+                .toArray(Field[]::new);
+    }
+
+    private String column(Field<?> field) {
+        return POSTING_PREFIX + field.getName();
+    }
 }
@@ -0,0 +1,71 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.PayoutEventDao;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutEvent;
+import dev.vality.payout.manager.domain.tables.records.PayoutEventRecord;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static dev.vality.payout.manager.domain.tables.PayoutEvent.PAYOUT_EVENT;
+
+@Component
+public class PayoutEventDaoImpl extends AbstractGenericDao implements PayoutEventDao {
+
+    private final RowMapper<PayoutEvent> payoutEventRowMapper;
+
+    @Autowired
+    public PayoutEventDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        payoutEventRowMapper = new RecordRowMapper<>(PAYOUT_EVENT, PayoutEvent.class);
+    }
+
+    @Override
+    public void save(PayoutEvent payoutEvent) throws DaoException {
+        Query query = getDslContext().insertInto(PAYOUT_EVENT)
+                .set(getDslContext().newRecord(PAYOUT_EVENT, payoutEvent));
+        executeOne(query);
+    }
+
+    @Override
+    public void saveAll(List<PayoutEvent> payoutEvents) throws DaoException {
+        if (payoutEvents.isEmpty()) {
+            return;
+        }
+        List<Field<?>> fields = Stream.of(PAYOUT_EVENT.fields())
+                .filter(field -> !field.equals(PAYOUT_EVENT.ID))
+                .toList();
+        InsertValuesStepN<PayoutEventRecord> insert = getDslContext().insertInto(PAYOUT_EVENT, fields);
+        for (PayoutEvent payoutEvent : payoutEvents) {
+            PayoutEventRecord record = getDslContext().newRecord(PAYOUT_EVENT, payoutEvent);
+            insert = insert.values(fields.stream().map(record::get).toList());
+        }
+        execute(insert);
+    }
+
+    @Override
+    public List<PayoutEvent> getBatchForUpdate(int limit) throws DaoException {
+        Query query = getDslContext().selectFrom(PAYOUT_EVENT)
+                .orderBy(PAYOUT_EVENT.ID)
+                .limit(limit)
+                .forUpdate();
+        return fetch(query, payoutEventRowMapper);
+    }
+
+    @Override
+    public void remove(List<Long> ids) throws DaoException {
+        Query query = getDslContext().deleteFrom(PAYOUT_EVENT)
+                .where(PAYOUT_EVENT.ID.in(ids));
+        execute(query);
+    }
+}
@@ -0,0 +1,168 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.PayoutStepDao;
+import dev.vality.payout.manager.domain.enums.PayoutStepStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
+import dev.vality.payout.manager.domain.tables.records.PayoutStepRecord;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Query;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static dev.vality.payout.manager.domain.tables.PayoutStep.PAYOUT_STEP;
+
+@Component
+public class PayoutStepDaoImpl extends AbstractGenericDao implements PayoutStepDao {
+
+    private final RowMapper<PayoutStep> payoutStepRowMapper;
+
+    @Autowired
+    public PayoutStepDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        payoutStepRowMapper = new RecordRowMapper<>(PAYOUT_STEP, PayoutStep.class);
+    }
+
+    @Override
+    public long save(PayoutStep payoutStep) throws DaoException {
+        Query query = getDslContext().insertInto(PAYOUT_STEP)
+                .set(getDslContext().newRecord(PAYOUT_STEP, payoutStep))
+                .returning(PAYOUT_STEP.ID);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        executeOne(query, keyHolder);
+        return Optional.ofNullable(keyHolder.getKey())
+                .map(Number::longValue)
+                .orElseThrow();
+    }
+
+    @Override
+    public List<PayoutStep> saveAll(List<PayoutStep> payoutSteps) throws DaoException {
+        if (payoutSteps.isEmpty()) {
+            return List.of();
+        }
+        List<Field<?>> fields = Stream.of(PAYOUT_STEP.fields())
+                .filter(field -> !field.equals(PAYOUT_STEP.ID))
+                .toList();
+        InsertValuesStepN<PayoutStepRecord> insert = getDslContext().insertInto(PAYOUT_STEP, fields);
+        for (PayoutStep payoutStep : payoutSteps) {
+            PayoutStepRecord record = getDslContext().newRecord(PAYOUT_STEP, payoutStep);
+            insert = insert.values(fields.stream().map(record::get).toList());
+        }
+        Query query = insert.returning();
+        return fetch(query, payoutStepRowMapper);
+    }
+
+    @Override
+    public List<PayoutStep> getPendingByPayoutId(String payoutId) throws DaoException {
+        Query query = getDslContext().selectFrom(PAYOUT_STEP)
+                .where(PAYOUT_STEP.PAYOUT_ID.eq(payoutId)
+                        .and(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)));
+        return fetch(query, payoutStepRowMapper);
+    }
+
+    @Override
+    public List<PayoutStep> getPendingByPayoutIds(Collection<String> payoutIds) throws DaoException {
+        Query query = getDslContext().selectFrom(PAYOUT_STEP)
+                .where(PAYOUT_STEP.PAYOUT_ID.eq(DSL.any(payoutIds.toArray(String[]::new)))
+                        .and(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)));
+        return fetch(query, payoutStepRowMapper);
+    }
+
+    @Override
+    public PayoutStep getLast(String payoutId, PayoutStepType type) throws DaoException {
+        Query query = getDslContext().selectFrom(PAYOUT_STEP)
+                .where(PAYOUT_STEP.PAYOUT_ID.eq(payoutId)
+                        .and(PAYOUT_STEP.TYPE.eq(type)))
+                .orderBy(PAYOUT_STEP.ID.desc())
+                .limit(1);
+        return fetchOne(query, payoutStepRowMapper);
+    }
+
+    @Override
+    public List<PayoutStep> claimPending(int limit, LocalDateTime now, LocalDateTime leaseUntil) throws DaoException {
+        var pendingIds = getDslContext().select(PAYOUT_STEP.ID)
+                .from(PAYOUT_STEP)
+                .where(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)
+                        .and(PAYOUT_STEP.NEXT_ATTEMPT_AT.le(now)))
+                .orderBy(PAYOUT_STEP.ID)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked();
+        Query query = getDslContext().update(PAYOUT_STEP)
+                .set(PAYOUT_STEP.NEXT_ATTEMPT_AT, leaseUntil)
+                .set(PAYOUT_STEP.ATTEMPT, PAYOUT_STEP.ATTEMPT.plus(1))
+                .where(PAYOUT_STEP.ID.in(pendingIds))
+                .returning();
+        return fetch(query, payoutStepRowMapper);
+    }
+
+    @Override
+    public boolean markSucceeded(long id) throws DaoException {
+        Query query = getDslContext().update(PAYOUT_STEP)
+                .set(PAYOUT_STEP.STATUS, PayoutStepStatus.SUCCEEDED)
+                .set(PAYOUT_STEP.ERROR, (String) null)
+                .where(PAYOUT_STEP.ID.eq(id)
+                        .and(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)))
+                .returning(PAYOUT_STEP.ID);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        execute(query, keyHolder);
+        return keyHolder.getKey() != null;
+    }
+
+    @Override
+    public boolean markFailed(long id, String error) throws DaoException {
+        Query query = getDslContext().update(PAYOUT_STEP)
+                .set(PAYOUT_STEP.STATUS, PayoutStepStatus.FAILED)
+                .set(PAYOUT_STEP.ERROR, error)
+                .where(PAYOUT_STEP.ID.eq(id)
+                        .and(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)))
+                .returning(PAYOUT_STEP.ID);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        execute(query, keyHolder);
+        return keyHolder.getKey() != null;
+    }
+
+    @Override
+    public boolean renewLease(long id, LocalDateTime leaseUntil) throws DaoException {
+        Query query = getDslContext().update(PAYOUT_STEP)
+                .set(PAYOUT_STEP.NEXT_ATTEMPT_AT, leaseUntil)
+                .where(PAYOUT_STEP.ID.eq(id)
+                        .and(PAYOUT_STEP.STATUS.eq(PayoutStepStatus.PENDING)))
+                .returning(PAYOUT_STEP.ID);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        execute(query, keyHolder);
+        return keyHolder.getKey() != null;
+    }
+
+    @Override
+    public void scheduleRetry(long id, LocalDateTime nextAttemptAt, String error) throws DaoException {
+        Query query = getDslContext().update(PAYOUT_STEP)
+                .set(PAYOUT_STEP.NEXT_ATTEMPT_AT, nextAttemptAt)
+                .set(PAYOUT_STEP.ERROR, error)
+                .where(PAYOUT_STEP.ID.eq(id));
+        executeOne(query);
+    }
+
+    @Override
+    public void removeByPayoutId(String payoutId) throws DaoException {
+        Query query = getDslContext().deleteFrom(PAYOUT_STEP)
+                .where(PAYOUT_STEP.PAYOUT_ID.eq(payoutId));
+        execute(query);
+    }
+}
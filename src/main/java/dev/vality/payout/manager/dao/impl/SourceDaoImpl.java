@@ -8,13 +8,18 @@ import dev.vality.payout.manager.domain.enums.SourceStatus;
 import dev.vality.payout.manager.domain.tables.pojos.Source;
 import dev.vality.payout.manager.domain.tables.records.SourceRecord;
 import dev.vality.payout.manager.exception.NotFoundException;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep4;
 import org.jooq.Query;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static dev.vality.payout.manager.domain.tables.Source.SOURCE;
@@ -54,13 +59,38 @@ public class SourceDaoImpl extends AbstractGenericDao implements SourceDao {
     }
 
     @Override
-    public Source getAuthorizedByCurrencyCode(String currencyCode) throws DaoException {
+    public List<Source> getAll() throws DaoException {
+        Query query = getDslContext().selectFrom(SOURCE);
+        return fetch(query, sourceRowMapper);
+    }
+
+    @Override
+    public List<Source> getBySourceIds(Collection<String> sourceIds) throws DaoException {
         Query query = getDslContext().selectFrom(SOURCE)
-                .where(SOURCE.CURRENCY_CODE.eq(currencyCode)
-                        .and(SOURCE.STATUS.eq(SourceStatus.AUTHORIZED)));
-        return fetch(query, sourceRowMapper).stream()
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Source not found, currencyCode='%s'", currencyCode)));
+                .where(SOURCE.SOURCE_ID.in(sourceIds));
+        return fetch(query, sourceRowMapper);
+    }
+
+    @Override
+    public void saveAll(Collection<Source> sources) throws DaoException {
+        if (sources.isEmpty()) {
+            return;
+        }
+        InsertValuesStep4<SourceRecord, String, SourceStatus, String, Long> insert = getDslContext()
+                .insertInto(SOURCE, SOURCE.SOURCE_ID, SOURCE.STATUS, SOURCE.CURRENCY_CODE, SOURCE.LAST_EVENT_ID);
+        for (Source source : sources) {
+            insert = insert.values(
+                    source.getSourceId(), source.getStatus(), source.getCurrencyCode(), source.getLastEventId());
+        }
+        Query query = insert.onConflict(SOURCE.SOURCE_ID)
+                .doUpdate()
+                .set(SOURCE.STATUS, excluded(SOURCE.STATUS))
+                .set(SOURCE.CURRENCY_CODE, excluded(SOURCE.CURRENCY_CODE))
+                .set(SOURCE.LAST_EVENT_ID, excluded(SOURCE.LAST_EVENT_ID));
+        execute(query);
+    }
+
+    private <T> Field<T> excluded(Field<T> field) {
+        return DSL.field("excluded.{0}", field.getDataType(), DSL.name(field.getName()));
     }
 }
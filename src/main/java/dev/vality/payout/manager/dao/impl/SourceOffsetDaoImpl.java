@@ -0,0 +1,62 @@
+package dev.vality.payout.manager.dao.impl;
+
+import dev.vality.dao.DaoException;
+import dev.vality.dao.impl.AbstractGenericDao;
+import dev.vality.mapper.RecordRowMapper;
+import dev.vality.payout.manager.dao.SourceOffsetDao;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import dev.vality.payout.manager.domain.tables.records.SourceOffsetRecord;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep3;
+import org.jooq.Query;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+
+import static dev.vality.payout.manager.domain.tables.SourceOffset.SOURCE_OFFSET;
+
+@Component
+public class SourceOffsetDaoImpl extends AbstractGenericDao implements SourceOffsetDao {
+
+    private final RowMapper<SourceOffset> sourceOffsetRowMapper;
+
+    @Autowired
+    public SourceOffsetDaoImpl(DataSource dataSource) {
+        super(dataSource);
+        sourceOffsetRowMapper = new RecordRowMapper<>(SOURCE_OFFSET, SourceOffset.class);
+    }
+
+    @Override
+    public void saveAll(Collection<SourceOffset> sourceOffsets) throws DaoException {
+        if (sourceOffsets.isEmpty()) {
+            return;
+        }
+        InsertValuesStep3<SourceOffsetRecord, String, Integer, Long> insert = getDslContext()
+                .insertInto(SOURCE_OFFSET, SOURCE_OFFSET.TOPIC, SOURCE_OFFSET.PARTITION_ID, SOURCE_OFFSET.NEXT_OFFSET);
+        for (SourceOffset sourceOffset : sourceOffsets) {
+            insert = insert.values(
+                    sourceOffset.getTopic(), sourceOffset.getPartitionId(), sourceOffset.getNextOffset());
+        }
+        Query query = insert.onConflict(SOURCE_OFFSET.TOPIC, SOURCE_OFFSET.PARTITION_ID)
+                .doUpdate()
+                .set(SOURCE_OFFSET.NEXT_OFFSET,
+                        DSL.greatest(SOURCE_OFFSET.NEXT_OFFSET, excluded(SOURCE_OFFSET.NEXT_OFFSET)));
+        execute(query);
+    }
+
+    @Override
+    public List<SourceOffset> getByTopic(String topic) throws DaoException {
+        Query query = getDslContext().selectFrom(SOURCE_OFFSET)
+                .where(SOURCE_OFFSET.TOPIC.eq(topic));
+        return fetch(query, sourceOffsetRowMapper);
+    }
+
+    private <T> Field<T> excluded(Field<T> field) {
+        return DSL.field("excluded.{0}", field.getDataType(), DSL.name(field.getName()));
+    }
+}
@@ -0,0 +1,125 @@
+package dev.vality.payout.manager.endpoint;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint implements DisposableBean {
+
+    private static final String RECORDING_NAME = "payout-manager";
+
+    @Value("${payout.jfr.settings}")
+    private String settings;
+
+    @Value("${payout.jfr.defaultDuration}")
+    private long defaultDuration;
+
+    @Value("${payout.jfr.maxDuration}")
+    private long maxDuration;
+
+    @Value("${payout.jfr.maxSize}")
+    private long maxSize;
+
+    private Recording recording;
+    private Path dumpFile;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        var status = new LinkedHashMap<String, Object>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("duration", String.valueOf(recording.getDuration()));
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long duration) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException(
+                    "Recording is already running", "Stop the current recording first");
+        }
+        long seconds = duration != null ? duration : defaultDuration;
+        if (seconds <= 0 || seconds > maxDuration) {
+            throw new InvalidEndpointRequestException(
+                    String.format("Invalid recording duration, duration='%d', maxDuration='%d'", seconds, maxDuration),
+                    "Invalid duration");
+        }
+        closeRecording();
+        var newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setDuration(Duration.ofSeconds(seconds));
+        newRecording.setMaxSize(maxSize);
+        newRecording.setToDisk(true);
+        newRecording.start();
+        recording = newRecording;
+        log.info("JFR recording has been started, settings='{}', duration='{}', maxSize='{}'",
+                settings, seconds, maxSize);
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Resource stop() throws IOException {
+        if (recording == null) {
+            throw new InvalidEndpointRequestException("Recording has not been started", "No recording");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        deleteDumpFile();
+        dumpFile = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        recording.dump(dumpFile);
+        recording.close();
+        recording = null;
+        log.info("JFR recording has been stopped, file='{}', size='{}'", dumpFile, Files.size(dumpFile));
+        return new FileSystemResource(dumpFile);
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        closeRecording();
+    }
+
+    private void closeRecording() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteDumpFile();
+    }
+
+    private void deleteDumpFile() throws IOException {
+        if (dumpFile != null) {
+            Files.deleteIfExists(dumpFile);
+            dumpFile = null;
+        }
+    }
+}
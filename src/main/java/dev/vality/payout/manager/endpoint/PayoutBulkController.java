@@ -0,0 +1,32 @@
+package dev.vality.payout.manager.endpoint;
+
+import dev.vality.payout.manager.model.PayoutBulkItem;
+import dev.vality.payout.manager.model.PayoutBulkResult;
+import dev.vality.payout.manager.service.PayoutBulkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/payout")
+public class PayoutBulkController {
+
+    private final PayoutBulkService payoutBulkService;
+
+    @PostMapping("/bulk")
+    public List<PayoutBulkResult> create(@RequestBody List<PayoutBulkItem> items) {
+        return payoutBulkService.create(items);
+    }
+
+    @PostMapping("/bulk/confirm")
+    public List<PayoutBulkResult> confirm(@RequestBody List<String> payoutIds) {
+        return payoutBulkService.confirm(payoutIds);
+    }
+
+    @PostMapping("/bulk/cancel")
+    public List<PayoutBulkResult> cancel(@RequestBody List<String> payoutIds, @RequestParam String details) {
+        return payoutBulkService.cancel(payoutIds, details);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.vality.payout.manager.endpoint;
+
+import dev.vality.payout.manager.model.PayoutExportFormat;
+import dev.vality.payout.manager.service.PayoutExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/payout")
+public class PayoutExportController {
+
+    private static final String EXPORT_PERMIT = PayoutExportController.class.getName() + ".permit";
+
+    private final PayoutExportService payoutExportService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toTime,
+            @RequestParam(defaultValue = "NDJSON") PayoutExportFormat format,
+            HttpServletRequest request) {
+        payoutExportService.validate(fromTime, toTime);
+        payoutExportService.acquire();
+        var unclaimedPermit = new AtomicBoolean(true);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                EXPORT_PERMIT, new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        if (unclaimedPermit.compareAndSet(true, false)) {
+                            payoutExportService.release();
+                        }
+                    }
+                });
+        var contentType = format == PayoutExportFormat.CSV
+                ? MediaType.valueOf("text/csv")
+                : MediaType.valueOf("application/x-ndjson");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(outputStream -> {
+                    if (!unclaimedPermit.compareAndSet(true, false)) {
+                        return;
+                    }
+                    try {
+                        payoutExportService.export(fromTime, toTime, format, outputStream);
+                    } finally {
+                        payoutExportService.release();
+                    }
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package dev.vality.payout.manager.endpoint;
+
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.Map;
+
+@Slf4j
+@RestControllerAdvice
+public class PayoutRestExceptionHandler {
+
+    @ExceptionHandler({
+            InvalidRequestException.class,
+            MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class})
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(Exception ex) {
+        log.warn("Invalid payout request", ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", String.valueOf(ex.getMessage())));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Payout request has been rejected", ex);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(Map.of("message", String.valueOf(ex.getMessage())));
+    }
+}
@@ -0,0 +1,35 @@
+package dev.vality.payout.manager.endpoint;
+
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.model.PayoutSearchFilter;
+import dev.vality.payout.manager.model.PayoutSearchResult;
+import dev.vality.payout.manager.service.PayoutSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/payout")
+public class PayoutSearchController {
+
+    private final PayoutSearchService payoutSearchService;
+
+    @GetMapping("/search")
+    public PayoutSearchResult search(
+            @RequestParam(required = false) String partyId,
+            @RequestParam(required = false) String shopId,
+            @RequestParam(required = false) PayoutStatus status,
+            @RequestParam(required = false) String currencyCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime fromTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime toTime,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String continuationToken) {
+        var filter = new PayoutSearchFilter(partyId, shopId, status, currencyCode, fromTime, toTime);
+        return payoutSearchService.search(filter, limit, continuationToken);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.vality.payout.manager.exception;
+
+public class DependencyUnavailableException extends RuntimeException {
+
+    public DependencyUnavailableException() {
+    }
+
+    public DependencyUnavailableException(String message) {
+        super(message);
+    }
+
+    public DependencyUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public DependencyUnavailableException(Throwable cause) {
+        super(cause);
+    }
+
+    public DependencyUnavailableException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
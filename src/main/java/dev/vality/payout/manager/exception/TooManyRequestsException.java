@@ -0,0 +1,8 @@
+package dev.vality.payout.manager.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
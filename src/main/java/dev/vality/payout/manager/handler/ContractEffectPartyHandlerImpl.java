@@ -0,0 +1,69 @@
+package dev.vality.payout.manager.handler;
+
+import dev.vality.damsel.payment_processing.ClaimEffect;
+import dev.vality.damsel.payment_processing.ContractEffectUnit;
+import dev.vality.damsel.payment_processing.PartyChange;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.dao.PartyPayoutToolDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static dev.vality.payout.manager.util.PartyProjectionUtil.toPartyPayoutTool;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContractEffectPartyHandlerImpl implements PartyHandler {
+
+    private final PartyPayoutToolDao partyPayoutToolDao;
+
+    @Override
+    public boolean accept(PartyChange change) {
+        return change.isSetClaimStatusChanged()
+                && change.getClaimStatusChanged().getStatus().isSetAccepted();
+    }
+
+    @Override
+    public void handle(PartyChange change, MachineEvent event) {
+        List<ClaimEffect> effects = change.getClaimStatusChanged().getStatus().getAccepted().getEffects();
+        if (effects == null) {
+            return;
+        }
+        effects.stream()
+                .filter(ClaimEffect::isSetContractEffect)
+                .map(ClaimEffect::getContractEffect)
+                .forEach(contractEffectUnit -> handle(contractEffectUnit, event));
+    }
+
+    private void handle(ContractEffectUnit contractEffectUnit, MachineEvent event) {
+        String partyId = event.getSourceId();
+        String contractId = contractEffectUnit.getContractId();
+        var effect = contractEffectUnit.getEffect();
+        if (effect.isSetCreated()) {
+            effect.getCreated().getPayoutTools().forEach(payoutTool -> save(
+                    toPartyPayoutTool(partyId, contractId, payoutTool.getId(), payoutTool.getPayoutToolInfo()),
+                    event));
+        } else if (effect.isSetPayoutToolCreated()) {
+            var payoutTool = effect.getPayoutToolCreated();
+            save(toPartyPayoutTool(partyId, contractId, payoutTool.getId(), payoutTool.getPayoutToolInfo()), event);
+        } else if (effect.isSetPayoutToolInfoChanged()) {
+            var payoutToolInfoChanged = effect.getPayoutToolInfoChanged();
+            save(toPartyPayoutTool(
+                    partyId,
+                    contractId,
+                    payoutToolInfoChanged.getPayoutToolId(),
+                    payoutToolInfoChanged.getInfo()), event);
+        }
+    }
+
+    private void save(PartyPayoutTool partyPayoutTool, MachineEvent event) {
+        partyPayoutTool.setEventId(event.getEventId());
+        partyPayoutToolDao.save(partyPayoutTool);
+        log.info("Payout tool has been saved, partyId={}, contractId={}, payoutToolId={}",
+                partyPayoutTool.getPartyId(), partyPayoutTool.getContractId(), partyPayoutTool.getPayoutToolId());
+    }
+}
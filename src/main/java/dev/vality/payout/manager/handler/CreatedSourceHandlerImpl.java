@@ -1,34 +1,29 @@
 package dev.vality.payout.manager.handler;
 
+import dev.vality.fistful.source.Change;
 import dev.vality.fistful.source.TimestampedChange;
 import dev.vality.machinegun.eventsink.MachineEvent;
-import dev.vality.payout.manager.dao.SourceDao;
 import dev.vality.payout.manager.domain.enums.SourceStatus;
 import dev.vality.payout.manager.domain.tables.pojos.Source;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CreatedSourceHandlerImpl implements SourceHandler {
 
-    private final SourceDao sourceDao;
-
     @Override
-    public boolean accept(TimestampedChange change) {
-        return change.getChange().isSetCreated();
+    public Change._Fields getChangeType() {
+        return Change._Fields.CREATED;
     }
 
     @Override
-    public void handle(TimestampedChange change, MachineEvent event) {
+    public Source handle(TimestampedChange change, MachineEvent event, Source source) {
         String sourceId = event.getSourceId();
-        Source source = new Source();
-        source.setSourceId(sourceId);
-        source.setStatus(SourceStatus.UNAUTHORIZED);
-        sourceDao.save(source).ifPresentOrElse(
-                dbContractId -> log.info("Source created has been saved, sourceId={}", sourceId),
-                () -> log.info("Source created bound duplicated, sourceId={}", sourceId));
+        Source created = new Source();
+        created.setSourceId(sourceId);
+        created.setStatus(SourceStatus.UNAUTHORIZED);
+        log.info("Source created has been applied, sourceId={}, duplicated={}", sourceId, source != null);
+        return created;
     }
 }
@@ -0,0 +1,53 @@
+package dev.vality.payout.manager.handler;
+
+import dev.vality.damsel.base.InvalidRequest;
+import dev.vality.payout.manager.*;
+import dev.vality.payout.manager.service.PayoutConcurrencyLimiter;
+import lombok.RequiredArgsConstructor;
+import org.apache.thrift.TException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+@Primary
+@Service
+@RequiredArgsConstructor
+public class LimitedPayoutManagementHandler implements PayoutManagementSrv.Iface {
+
+    private static final String GET_QUEUE = "#getPayout";
+    private static final String CONFIRM_QUEUE = "#confirmPayout";
+    private static final String CANCEL_QUEUE = "#cancelPayout";
+
+    @Qualifier("payoutManagementHandler")
+    private final PayoutManagementSrv.Iface payoutManagementHandler;
+    private final PayoutConcurrencyLimiter payoutConcurrencyLimiter;
+
+    @Override
+    public Payout createPayout(PayoutParams payoutParams) throws
+            InsufficientFunds, InvalidRequest, PayoutAlreadyExists, NotFound, TException {
+        return payoutConcurrencyLimiter.execute(
+                payoutParams.getShopParams().getPartyId(),
+                () -> payoutManagementHandler.createPayout(payoutParams));
+    }
+
+    @Override
+    public Payout getPayout(String payoutId) throws NotFound, TException {
+        return payoutConcurrencyLimiter.execute(GET_QUEUE, () -> payoutManagementHandler.getPayout(payoutId));
+    }
+
+    @Override
+    public void confirmPayout(String payoutId) throws NotFound, InvalidRequest, TException {
+        payoutConcurrencyLimiter.execute(CONFIRM_QUEUE, () -> {
+            payoutManagementHandler.confirmPayout(payoutId);
+            return null;
+        });
+    }
+
+    @Override
+    public void cancelPayout(String payoutId, String details) throws NotFound, InvalidRequest, TException {
+        payoutConcurrencyLimiter.execute(CANCEL_QUEUE, () -> {
+            payoutManagementHandler.cancelPayout(payoutId, details);
+            return null;
+        });
+    }
+}
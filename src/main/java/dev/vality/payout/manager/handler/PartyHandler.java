@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.handler;
+
+import dev.vality.damsel.payment_processing.PartyChange;
+import dev.vality.machinegun.eventsink.MachineEvent;
+
+public interface PartyHandler {
+
+    boolean accept(PartyChange change);
+
+    void handle(PartyChange change, MachineEvent event);
+
+}
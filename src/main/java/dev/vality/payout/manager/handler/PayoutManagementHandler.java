@@ -2,12 +2,13 @@ package dev.vality.payout.manager.handler;
 
 import dev.vality.damsel.base.InvalidRequest;
 import dev.vality.payout.manager.*;
-import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.exception.*;
-import dev.vality.payout.manager.service.CashFlowPostingService;
-import dev.vality.payout.manager.service.PayoutKafkaProducerService;
 import dev.vality.payout.manager.service.PayoutService;
 import dev.vality.payout.manager.util.ThriftUtil;
+import dev.vality.woody.api.flow.error.WErrorDefinition;
+import dev.vality.woody.api.flow.error.WErrorSource;
+import dev.vality.woody.api.flow.error.WErrorType;
+import dev.vality.woody.api.flow.error.WUnavailableResultException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.thrift.TException;
@@ -22,8 +23,6 @@ import java.util.Optional;
 public class PayoutManagementHandler implements dev.vality.payout.manager.PayoutManagementSrv.Iface {
 
     private final PayoutService payoutService;
-    private final CashFlowPostingService cashFlowPostingService;
-    private final PayoutKafkaProducerService payoutKafkaProducerService;
 
     @Override
     public Payout createPayout(PayoutParams payoutParams) throws
@@ -35,7 +34,6 @@ public class PayoutManagementHandler implements dev.vality.payout.manager.Payout
                     payoutParams.getCash(),
                     payoutParams.getPayoutId(),
                     payoutParams.getPayoutToolId());
-            sendToKafka(payoutId);
             return getPayout(payoutId);
         } catch (InsufficientFundsException ex) {
             throw new InsufficientFunds();
@@ -46,15 +44,22 @@ public class PayoutManagementHandler implements dev.vality.payout.manager.Payout
             throw new PayoutAlreadyExists();
         } catch (NotFoundException ex) {
             throw new NotFound().setMessage(ex.getMessage());
+        } catch (DependencyUnavailableException ex) {
+            var errorDefinition = new WErrorDefinition(WErrorSource.INTERNAL);
+            errorDefinition.setErrorType(WErrorType.UNAVAILABLE_RESULT);
+            errorDefinition.setErrorSource(WErrorSource.INTERNAL);
+            errorDefinition.setErrorReason(String.valueOf(ex.getMessage()));
+            throw new WUnavailableResultException(errorDefinition);
         }
     }
 
     @Override
     public Payout getPayout(String payoutId) throws NotFound, TException {
         try {
-            var payout = payoutService.get(payoutId);
-            List<CashFlowPosting> cashFlowPostings = cashFlowPostingService.getCashFlowPostings(payout.getPayoutId());
-            return ThriftUtil.toThriftPayout(payout, cashFlowPostings);
+            var payoutWithCashFlowPostings = payoutService.getWithCashFlowPostings(payoutId);
+            return ThriftUtil.toThriftPayout(
+                    payoutWithCashFlowPostings.getPayout(),
+                    payoutWithCashFlowPostings.getCashFlowPostings());
         } catch (NotFoundException ex) {
             throw new NotFound().setMessage(ex.getMessage());
         }
@@ -64,7 +69,6 @@ public class PayoutManagementHandler implements dev.vality.payout.manager.Payout
     public void confirmPayout(String payoutId) throws NotFound, InvalidRequest, TException {
         try {
             payoutService.confirm(payoutId);
-            sendToKafka(payoutId);
         } catch (InvalidStateException ex) {
             throw new InvalidRequest(
                     Optional.ofNullable(ex.getMessage()).map(List::of).orElse(List.of()));
@@ -77,7 +81,6 @@ public class PayoutManagementHandler implements dev.vality.payout.manager.Payout
     public void cancelPayout(String payoutId, String details) throws NotFound, InvalidRequest, TException {
         try {
             payoutService.cancel(payoutId, details);
-            sendToKafka(payoutId);
         } catch (InvalidStateException ex) {
             throw new InvalidRequest(
                     Optional.ofNullable(ex.getMessage()).map(List::of).orElse(List.of()));
@@ -85,11 +88,4 @@ public class PayoutManagementHandler implements dev.vality.payout.manager.Payout
             throw new NotFound().setMessage(ex.getMessage());
         }
     }
-
-    private void sendToKafka(String payoutId) {
-        var payout = payoutService.get(payoutId);
-        List<CashFlowPosting> cashFlowPostings = cashFlowPostingService.getCashFlowPostings(payoutId);
-        Event event = ThriftUtil.createEvent(payout, cashFlowPostings);
-        payoutKafkaProducerService.send(event);
-    }
 }
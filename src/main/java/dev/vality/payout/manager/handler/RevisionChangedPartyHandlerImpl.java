@@ -0,0 +1,33 @@
+package dev.vality.payout.manager.handler;
+
+import dev.vality.damsel.payment_processing.PartyChange;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.dao.PartyRevisionDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyRevision;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevisionChangedPartyHandlerImpl implements PartyHandler {
+
+    private final PartyRevisionDao partyRevisionDao;
+
+    @Override
+    public boolean accept(PartyChange change) {
+        return change.isSetRevisionChanged();
+    }
+
+    @Override
+    public void handle(PartyChange change, MachineEvent event) {
+        String partyId = event.getSourceId();
+        var partyRevision = new PartyRevision();
+        partyRevision.setPartyId(partyId);
+        partyRevision.setRevision(change.getRevisionChanged().getRevision());
+        partyRevision.setEventId(event.getEventId());
+        partyRevisionDao.save(partyRevision);
+        log.info("Party revision has been saved, partyId={}, revision={}", partyId, partyRevision.getRevision());
+    }
+}
@@ -0,0 +1,71 @@
+package dev.vality.payout.manager.handler;
+
+import dev.vality.damsel.payment_processing.ClaimEffect;
+import dev.vality.damsel.payment_processing.PartyChange;
+import dev.vality.damsel.payment_processing.ShopEffectUnit;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.dao.PartyShopDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static dev.vality.payout.manager.util.PartyProjectionUtil.toPartyShop;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShopEffectPartyHandlerImpl implements PartyHandler {
+
+    private final PartyShopDao partyShopDao;
+
+    @Override
+    public boolean accept(PartyChange change) {
+        return change.isSetClaimStatusChanged()
+                && change.getClaimStatusChanged().getStatus().isSetAccepted();
+    }
+
+    @Override
+    public void handle(PartyChange change, MachineEvent event) {
+        List<ClaimEffect> effects = change.getClaimStatusChanged().getStatus().getAccepted().getEffects();
+        if (effects == null) {
+            return;
+        }
+        effects.stream()
+                .filter(ClaimEffect::isSetShopEffect)
+                .map(ClaimEffect::getShopEffect)
+                .forEach(shopEffectUnit -> handle(shopEffectUnit, event));
+    }
+
+    private void handle(ShopEffectUnit shopEffectUnit, MachineEvent event) {
+        String partyId = event.getSourceId();
+        String shopId = shopEffectUnit.getShopId();
+        var effect = shopEffectUnit.getEffect();
+        PartyShop partyShop;
+        if (effect.isSetCreated()) {
+            partyShop = toPartyShop(partyId, shopId, effect.getCreated());
+        } else if (effect.isSetContractChanged() || effect.isSetPayoutToolChanged() || effect.isSetAccountCreated()) {
+            partyShop = partyShopDao.get(partyId, shopId);
+            if (partyShop == null) {
+                log.warn("Shop not found in party projection, skip effect, partyId={}, shopId={}", partyId, shopId);
+                return;
+            }
+            if (effect.isSetContractChanged()) {
+                partyShop.setContractId(effect.getContractChanged().getContractId());
+                partyShop.setPayoutToolId(effect.getContractChanged().getPayoutToolId());
+            } else if (effect.isSetPayoutToolChanged()) {
+                partyShop.setPayoutToolId(effect.getPayoutToolChanged());
+            } else {
+                partyShop.setSettlementAccountId(effect.getAccountCreated().getSettlement());
+            }
+        } else {
+            return;
+        }
+        partyShop.setEventId(event.getEventId());
+        partyShopDao.save(partyShop);
+        log.info("Shop by {} effect has been saved, partyId={}, shopId={}",
+                effect.getSetField().getFieldName(), partyId, shopId);
+    }
+}
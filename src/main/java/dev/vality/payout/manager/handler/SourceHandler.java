@@ -1,12 +1,14 @@
 package dev.vality.payout.manager.handler;
 
+import dev.vality.fistful.source.Change;
 import dev.vality.fistful.source.TimestampedChange;
 import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.domain.tables.pojos.Source;
 
 public interface SourceHandler {
 
-    boolean accept(TimestampedChange change);
+    Change._Fields getChangeType();
 
-    void handle(TimestampedChange change, MachineEvent event);
+    Source handle(TimestampedChange change, MachineEvent event, Source source);
 
 }
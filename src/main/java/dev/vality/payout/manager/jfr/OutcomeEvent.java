@@ -0,0 +1,35 @@
+package dev.vality.payout.manager.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+import java.util.function.Supplier;
+
+public abstract class OutcomeEvent extends Event {
+
+    @Label("Outcome")
+    protected String outcome = "success";
+
+    public void fail(Throwable ex) {
+        outcome = ex.getClass().getSimpleName();
+    }
+
+    public <T> T record(Supplier<T> supplier) {
+        begin();
+        try {
+            return supplier.get();
+        } catch (RuntimeException ex) {
+            fail(ex);
+            throw ex;
+        } finally {
+            commit();
+        }
+    }
+
+    public void record(Runnable runnable) {
+        record(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
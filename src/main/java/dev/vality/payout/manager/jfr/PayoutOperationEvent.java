@@ -0,0 +1,42 @@
+package dev.vality.payout.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.vality.payout.PayoutOperation")
+@Label("Payout Operation")
+@Category({"Payout Manager", "Payout"})
+@StackTrace(false)
+public class PayoutOperationEvent extends OutcomeEvent {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Payout Id")
+    private String payoutId;
+
+    @Label("Payout Rows")
+    private int payoutRows;
+
+    @Label("Cash Flow Postings")
+    private int cashFlowPostings;
+
+    public PayoutOperationEvent(String operation, String payoutId) {
+        this.operation = operation;
+        this.payoutId = payoutId;
+    }
+
+    public void setPayoutId(String payoutId) {
+        this.payoutId = payoutId;
+    }
+
+    public void setPayoutRows(int payoutRows) {
+        this.payoutRows = payoutRows;
+    }
+
+    public void setCashFlowPostings(int cashFlowPostings) {
+        this.cashFlowPostings = cashFlowPostings;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.vality.payout.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.vality.payout.ShumwayPlan")
+@Label("Shumway Plan Operation")
+@Category({"Payout Manager", "Shumway"})
+@StackTrace(false)
+public class ShumwayPlanEvent extends OutcomeEvent {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Payout Id")
+    private String payoutId;
+
+    @Label("Posting Plan Id")
+    private String postingPlanId;
+
+    @Label("Posting Batches")
+    private int postingBatches;
+
+    @Label("Postings")
+    private int postings;
+
+    public ShumwayPlanEvent(
+            String operation,
+            String payoutId,
+            String postingPlanId,
+            int postingBatches,
+            int postings) {
+        this.operation = operation;
+        this.payoutId = payoutId;
+        this.postingPlanId = postingPlanId;
+        this.postingBatches = postingBatches;
+        this.postings = postings;
+    }
+}
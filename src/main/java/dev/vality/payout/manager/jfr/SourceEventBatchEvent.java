@@ -0,0 +1,45 @@
+package dev.vality.payout.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.vality.payout.SourceEventBatch")
+@Label("Source Event Batch")
+@Category({"Payout Manager", "Source"})
+@StackTrace(false)
+public class SourceEventBatchEvent extends OutcomeEvent {
+
+    @Label("Events")
+    private int events;
+
+    @Label("Offsets")
+    private int offsets;
+
+    @Label("Skipped Events")
+    private int skipped;
+
+    @Label("Applied Changes")
+    private int changes;
+
+    @Label("Source Rows")
+    private int sources;
+
+    public SourceEventBatchEvent(int events, int offsets) {
+        this.events = events;
+        this.offsets = offsets;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public void setChanges(int changes) {
+        this.changes = changes;
+    }
+
+    public void setSources(int sources) {
+        this.sources = sources;
+    }
+}
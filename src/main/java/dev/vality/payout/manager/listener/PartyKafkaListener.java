@@ -0,0 +1,56 @@
+package dev.vality.payout.manager.listener;
+
+import dev.vality.kafka.common.util.LogUtil;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.machinegun.eventsink.SinkEvent;
+import dev.vality.payout.manager.service.PartyHandlerService;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PartyKafkaListener {
+
+    @Value("${kafka.topic.party.consume.throttling-timeout-ms}")
+    private int throttlingTimeout;
+
+    private final PartyHandlerService partyHandlerService;
+
+    @KafkaListener(
+            autoStartup = "${kafka.topic.party.consume.enabled}",
+            topics = "${kafka.topic.party.name}",
+            containerFactory = "partyContainerFactory")
+    public void listen(List<ConsumerRecord<String, SinkEvent>> messages, Acknowledgment ack) {
+        log.info("PartyKafkaListener listen offsets, size={}, {}",
+                messages.size(), LogUtil.toSummaryStringWithSinkEventValues(messages));
+        List<MachineEvent> machineEvents = messages.stream()
+                .map(ConsumerRecord::value)
+                .map(SinkEvent::getEvent)
+                .collect(Collectors.toList());
+        handleMessages(machineEvents);
+        ack.acknowledge();
+        log.info("PartyKafkaListener Records have been committed, size={}, {}",
+                messages.size(), LogUtil.toSummaryStringWithSinkEventValues(messages));
+    }
+
+    @SneakyThrows
+    public void handleMessages(List<MachineEvent> sinkEvents) {
+        try {
+            partyHandlerService.handleEvents(sinkEvents);
+        } catch (Exception e) {
+            log.error("Error when PartyKafkaListener listen e: ", e);
+            Thread.sleep(throttlingTimeout);
+            throw e;
+        }
+    }
+}
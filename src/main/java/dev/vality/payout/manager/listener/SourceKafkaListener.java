@@ -1,30 +1,36 @@
 package dev.vality.payout.manager.listener;
 
 import dev.vality.kafka.common.util.LogUtil;
-import dev.vality.machinegun.eventsink.MachineEvent;
 import dev.vality.machinegun.eventsink.SinkEvent;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import dev.vality.payout.manager.service.SourceEventRetryService;
 import dev.vality.payout.manager.service.SourceHandlerService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class SourceKafkaListener {
+public class SourceKafkaListener implements ConsumerSeekAware {
 
     @Value("${kafka.topic.source.consume.throttling-timeout-ms}")
     private int throttlingTimeout;
+    @Value("${kafka.topic.source.name}")
+    private String topicName;
 
-    private final SourceHandlerService sourceService;
+    private final SourceEventRetryService sourceEventRetryService;
+    private final SourceHandlerService sourceHandlerService;
 
     @KafkaListener(
             autoStartup = "${kafka.topic.source.consume.enabled}",
@@ -33,24 +39,31 @@ public class SourceKafkaListener {
     public void listen(List<ConsumerRecord<String, SinkEvent>> messages, Acknowledgment ack) {
         log.info("SourceKafkaListener listen offsets, size={}, {}",
                 messages.size(), LogUtil.toSummaryStringWithSinkEventValues(messages));
-        List<MachineEvent> machineEvents = messages.stream()
-                .map(ConsumerRecord::value)
-                .map(SinkEvent::getEvent)
-                .collect(Collectors.toList());
-        handleMessages(machineEvents);
+        handleMessages(messages);
         ack.acknowledge();
         log.info("SourceKafkaListener Records have been committed, size={}, {}",
                 messages.size(), LogUtil.toSummaryStringWithSinkEventValues(messages));
     }
 
     @SneakyThrows
-    public void handleMessages(List<MachineEvent> sinkEvents) {
+    public void handleMessages(List<ConsumerRecord<String, SinkEvent>> messages) {
         try {
-            sourceService.handleEvents(sinkEvents);
+            sourceEventRetryService.handleRecords(messages);
         } catch (Exception e) {
             log.error("Error when SourceKafkaListener listen e: ", e);
             Thread.sleep(throttlingTimeout);
             throw e;
         }
     }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (SourceOffset offset : sourceHandlerService.getOffsets(topicName)) {
+            if (assignments.containsKey(new TopicPartition(offset.getTopic(), offset.getPartitionId()))) {
+                log.info("SourceKafkaListener seek to stored offset, topic={}, partition={}, offset={}",
+                        offset.getTopic(), offset.getPartitionId(), offset.getNextOffset());
+                callback.seek(offset.getTopic(), offset.getPartitionId(), offset.getNextOffset());
+            }
+        }
+    }
 }
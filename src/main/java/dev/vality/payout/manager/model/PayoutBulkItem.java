@@ -0,0 +1,15 @@
+package dev.vality.payout.manager.model;
+
+import lombok.Data;
+
+@Data
+public class PayoutBulkItem {
+
+    private String payoutId;
+    private String partyId;
+    private String shopId;
+    private String payoutToolId;
+    private Long amount;
+    private String currencyCode;
+
+}
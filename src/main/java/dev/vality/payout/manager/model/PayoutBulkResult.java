@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.model;
+
+import lombok.Value;
+
+@Value
+public class PayoutBulkResult {
+
+    String payoutId;
+    boolean succeeded;
+    String error;
+
+}
@@ -0,0 +1,14 @@
+package dev.vality.payout.manager.model;
+
+import dev.vality.damsel.domain.FinalCashFlowPosting;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class PayoutDependencies {
+
+    ShopPayoutTool shopPayoutTool;
+    List<FinalCashFlowPosting> finalCashFlowPostings;
+
+}
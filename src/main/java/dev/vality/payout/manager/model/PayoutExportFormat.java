@@ -0,0 +1,8 @@
+package dev.vality.payout.manager.model;
+
+public enum PayoutExportFormat {
+
+    NDJSON,
+    CSV
+
+}
@@ -0,0 +1,18 @@
+package dev.vality.payout.manager.model;
+
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class PayoutSearchFilter {
+
+    String partyId;
+    String shopId;
+    PayoutStatus status;
+    String currencyCode;
+    LocalDateTime fromTime;
+    LocalDateTime toTime;
+
+}
@@ -0,0 +1,14 @@
+package dev.vality.payout.manager.model;
+
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class PayoutSearchResult {
+
+    List<Payout> payouts;
+    String continuationToken;
+
+}
@@ -0,0 +1,15 @@
+package dev.vality.payout.manager.model;
+
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class PayoutWithCashFlowPostings {
+
+    Payout payout;
+    List<CashFlowPosting> cashFlowPostings;
+
+}
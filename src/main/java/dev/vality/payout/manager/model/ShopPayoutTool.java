@@ -0,0 +1,13 @@
+package dev.vality.payout.manager.model;
+
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import lombok.Value;
+
+@Value
+public class ShopPayoutTool {
+
+    PartyShop shop;
+    PartyPayoutTool payoutTool;
+
+}
@@ -0,0 +1,8 @@
+package dev.vality.payout.manager.model;
+
+public enum SourceSelectionPolicy {
+
+    FIRST,
+    ROUND_ROBIN
+
+}
@@ -0,0 +1,26 @@
+package dev.vality.payout.manager.scheduler;
+
+import dev.vality.payout.manager.service.CashFlowPostingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "payout.partition.enabled", havingValue = "true")
+public class CashFlowPostingPartitionScheduler {
+
+    private final CashFlowPostingService cashFlowPostingService;
+
+    @Scheduled(cron = "${payout.partition.cron}")
+    public void createPartitions() {
+        try {
+            cashFlowPostingService.createPartitions();
+        } catch (Exception ex) {
+            log.warn("Failed to create CashFlowPosting partitions", ex);
+        }
+    }
+}
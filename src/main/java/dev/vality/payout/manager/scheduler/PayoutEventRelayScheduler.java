@@ -0,0 +1,33 @@
+package dev.vality.payout.manager.scheduler;
+
+import dev.vality.payout.manager.service.PayoutEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "kafka.topic.pm-events-payout.produce.enabled", havingValue = "true")
+public class PayoutEventRelayScheduler {
+
+    private final PayoutEventService payoutEventService;
+
+    @Value("${kafka.topic.pm-events-payout.produce.relay.batchSize}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${kafka.topic.pm-events-payout.produce.relay.delay}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = payoutEventService.relay();
+            } while (relayed == batchSize);
+        } catch (Exception ex) {
+            log.warn("Failed to relay payout events", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.vality.payout.manager.scheduler;
+
+import dev.vality.payout.manager.service.PayoutStepService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "payout.step.worker.enabled", havingValue = "true")
+public class PayoutStepScheduler {
+
+    private final PayoutStepService payoutStepService;
+
+    @Scheduled(fixedDelayString = "${payout.step.worker.delay}")
+    public void process() {
+        var payoutSteps = payoutStepService.claim();
+        if (payoutSteps.isEmpty()) {
+            return;
+        }
+        log.info("PayoutStepScheduler claimed payout steps, size={}", payoutSteps.size());
+        for (var payoutStep : payoutSteps) {
+            try {
+                payoutStepService.execute(payoutStep);
+            } catch (Exception ex) {
+                log.warn("Failed to execute payout step, payoutId='{}', type='{}'",
+                        payoutStep.getPayoutId(), payoutStep.getType(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dev.vality.payout.manager.scheduler;
+
+import dev.vality.payout.manager.service.SourceRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "service.fistful.source.reload.enabled", havingValue = "true")
+public class SourceRegistryScheduler {
+
+    private final SourceRegistry sourceRegistry;
+
+    @Scheduled(
+            initialDelayString = "${service.fistful.source.reload.delay}",
+            fixedDelayString = "${service.fistful.source.reload.delay}")
+    public void reload() {
+        try {
+            sourceRegistry.load();
+        } catch (Exception ex) {
+            log.warn("Failed to reload source registry", ex);
+        }
+    }
+}
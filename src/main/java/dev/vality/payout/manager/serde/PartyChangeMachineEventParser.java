@@ -0,0 +1,13 @@
+package dev.vality.payout.manager.serde;
+
+import dev.vality.damsel.payment_processing.PartyEventData;
+import dev.vality.sink.common.parser.impl.MachineEventParser;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PartyChangeMachineEventParser extends MachineEventParser<PartyEventData> {
+
+    public PartyChangeMachineEventParser(PartyEventDataDeserializer deserializer) {
+        super(deserializer);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.vality.payout.manager.serde;
+
+import dev.vality.damsel.payment_processing.PartyEventData;
+import dev.vality.sink.common.serialization.impl.AbstractThriftBinaryDeserializer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PartyEventDataDeserializer extends AbstractThriftBinaryDeserializer<PartyEventData> {
+
+    @Override
+    public PartyEventData deserialize(byte[] bin) {
+        return deserialize(bin, new PartyEventData());
+    }
+}
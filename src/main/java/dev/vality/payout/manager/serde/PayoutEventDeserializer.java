@@ -0,0 +1,12 @@
+package dev.vality.payout.manager.serde;
+
+import dev.vality.kafka.common.serialization.AbstractThriftDeserializer;
+import dev.vality.payout.manager.Event;
+
+public class PayoutEventDeserializer extends AbstractThriftDeserializer<Event> {
+
+    @Override
+    public Event deserialize(String topic, byte[] data) {
+        return deserialize(data, new Event());
+    }
+}
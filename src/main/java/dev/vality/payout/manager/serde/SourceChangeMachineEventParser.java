@@ -2,12 +2,16 @@ package dev.vality.payout.manager.serde;
 
 import dev.vality.fistful.source.TimestampedChange;
 import dev.vality.sink.common.parser.impl.MachineEventParser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SourceChangeMachineEventParser extends MachineEventParser<TimestampedChange> {
 
-    public SourceChangeMachineEventParser(TimestampedChangeDeserializer deserializer) {
-        super(deserializer);
+    public SourceChangeMachineEventParser(
+            TimestampedChangeDeserializer deserializer,
+            TimestampedChangeLightDeserializer lightDeserializer,
+            @Value("${kafka.topic.source.consume.light-decoding}") boolean lightDecoding) {
+        super(lightDecoding ? lightDeserializer : deserializer);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package dev.vality.payout.manager.serde;
+
+import dev.vality.fistful.account.Account;
+import dev.vality.fistful.account.AccountChange;
+import dev.vality.fistful.base.CurrencyRef;
+import dev.vality.fistful.source.*;
+import dev.vality.sink.common.serialization.BinaryDeserializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.thrift.protocol.TType;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimestampedChangeLightDeserializer implements BinaryDeserializer<TimestampedChange> {
+
+    private static final short CHANGE_ID = TimestampedChange._Fields.CHANGE.getThriftFieldId();
+    private static final short CREATED_ID = Change._Fields.CREATED.getThriftFieldId();
+    private static final short ACCOUNT_ID = Change._Fields.ACCOUNT.getThriftFieldId();
+    private static final short STATUS_ID = Change._Fields.STATUS.getThriftFieldId();
+    private static final short[] CURRENCY_CODE_PATH = {
+            AccountChange._Fields.CREATED.getThriftFieldId(),
+            Account._Fields.CURRENCY.getThriftFieldId(),
+            CurrencyRef._Fields.SYMBOLIC_CODE.getThriftFieldId()};
+    private static final short STATUS_CHANGE_STATUS_ID = StatusChange._Fields.STATUS.getThriftFieldId();
+    private static final short AUTHORIZED_ID = Status._Fields.AUTHORIZED.getThriftFieldId();
+    private static final short UNAUTHORIZED_ID = Status._Fields.UNAUTHORIZED.getThriftFieldId();
+
+    private final TimestampedChangeDeserializer timestampedChangeDeserializer;
+
+    @Override
+    public TimestampedChange deserialize(byte[] bin) {
+        try {
+            Change change = readTimestampedChange(new Cursor(bin));
+            if (change != null) {
+                return new TimestampedChange().setChange(change);
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+            log.debug("Failed to decode source change lightly, falling back to full deserialization", ex);
+        }
+        return timestampedChangeDeserializer.deserialize(bin);
+    }
+
+    private Change readTimestampedChange(Cursor cursor) {
+        Change change = null;
+        for (byte type = cursor.readByte(); type != TType.STOP; type = cursor.readByte()) {
+            short id = cursor.readShort();
+            if (id == CHANGE_ID && type == TType.STRUCT) {
+                change = readChange(cursor);
+            } else {
+                cursor.skip(type);
+            }
+        }
+        return change;
+    }
+
+    private Change readChange(Cursor cursor) {
+        Change change = null;
+        for (byte type = cursor.readByte(); type != TType.STOP; type = cursor.readByte()) {
+            short id = cursor.readShort();
+            if (id == CREATED_ID && type == TType.STRUCT) {
+                cursor.skip(type);
+                change = Change.created(new Source());
+            } else if (id == ACCOUNT_ID && type == TType.STRUCT) {
+                String currencyCode = readString(cursor, CURRENCY_CODE_PATH, 0);
+                change = currencyCode != null ? accountChange(currencyCode) : null;
+            } else if (id == STATUS_ID && type == TType.STRUCT) {
+                Status status = readStatusChange(cursor);
+                change = status != null ? Change.status(new StatusChange(status)) : null;
+            } else {
+                cursor.skip(type);
+            }
+        }
+        return change;
+    }
+
+    private Change accountChange(String currencyCode) {
+        return Change.account(AccountChange.created(new Account().setCurrency(new CurrencyRef(currencyCode))));
+    }
+
+    private String readString(Cursor cursor, short[] path, int depth) {
+        boolean last = depth == path.length - 1;
+        String value = null;
+        for (byte type = cursor.readByte(); type != TType.STOP; type = cursor.readByte()) {
+            short id = cursor.readShort();
+            if (id == path[depth] && !last && type == TType.STRUCT) {
+                value = readString(cursor, path, depth + 1);
+            } else if (id == path[depth] && last && type == TType.STRING) {
+                value = cursor.readString();
+            } else {
+                cursor.skip(type);
+            }
+        }
+        return value;
+    }
+
+    private Status readStatusChange(Cursor cursor) {
+        Status status = null;
+        for (byte type = cursor.readByte(); type != TType.STOP; type = cursor.readByte()) {
+            short id = cursor.readShort();
+            if (id == STATUS_CHANGE_STATUS_ID && type == TType.STRUCT) {
+                status = readStatus(cursor);
+            } else {
+                cursor.skip(type);
+            }
+        }
+        return status;
+    }
+
+    private Status readStatus(Cursor cursor) {
+        Status status = null;
+        for (byte type = cursor.readByte(); type != TType.STOP; type = cursor.readByte()) {
+            short id = cursor.readShort();
+            cursor.skip(type);
+            if (id == AUTHORIZED_ID) {
+                status = Status.authorized(new Authorized());
+            } else if (id == UNAUTHORIZED_ID) {
+                status = Status.unauthorized(new Unauthorized());
+            }
+        }
+        return status;
+    }
+
+    private static final class Cursor {
+
+        private final byte[] bin;
+        private int position;
+
+        private Cursor(byte[] bin) {
+            this.bin = bin;
+        }
+
+        private byte readByte() {
+            return bin[position++];
+        }
+
+        private short readShort() {
+            return (short) (((bin[position++] & 0xff) << 8) | (bin[position++] & 0xff));
+        }
+
+        private int readInt() {
+            return ((bin[position++] & 0xff) << 24)
+                    | ((bin[position++] & 0xff) << 16)
+                    | ((bin[position++] & 0xff) << 8)
+                    | (bin[position++] & 0xff);
+        }
+
+        private String readString() {
+            int length = readInt();
+            String value = new String(bin, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void advance(int length) {
+            if (length < 0 || position + length > bin.length) {
+                throw new IndexOutOfBoundsException(length);
+            }
+            position += length;
+        }
+
+        private void skip(byte type) {
+            switch (type) {
+                case TType.BOOL, TType.BYTE -> advance(1);
+                case TType.I16 -> advance(2);
+                case TType.I32 -> advance(4);
+                case TType.I64, TType.DOUBLE -> advance(8);
+                case TType.STRING -> advance(readInt());
+                case TType.STRUCT -> {
+                    for (byte fieldType = readByte(); fieldType != TType.STOP; fieldType = readByte()) {
+                        advance(2);
+                        skip(fieldType);
+                    }
+                }
+                case TType.MAP -> {
+                    byte keyType = readByte();
+                    byte valueType = readByte();
+                    for (int size = readInt(); size > 0; size--) {
+                        skip(keyType);
+                        skip(valueType);
+                    }
+                }
+                case TType.SET, TType.LIST -> {
+                    byte elementType = readByte();
+                    for (int size = readInt(); size > 0; size--) {
+                        skip(elementType);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown thrift type " + type);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import dev.vality.payout.manager.exception.NotFoundException;
 import dev.vality.payout.manager.exception.StorageException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,9 @@ public class CashFlowPostingService {
 
     private final CashFlowPostingDao cashFlowPostingDao;
 
+    @Value("${payout.partition.monthsAhead}")
+    private int monthsAhead;
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void save(List<CashFlowPosting> cashFlowPostings) {
         log.info("Trying to save a CashFlowPosting, cashFlowPostings='{}'", cashFlowPostings.size());
@@ -46,4 +50,14 @@ public class CashFlowPostingService {
         }
         return cashFlowPostings;
     }
+
+    public void createPartitions() {
+        log.info("Trying to create CashFlowPosting partitions, monthsAhead='{}'", monthsAhead);
+        try {
+            cashFlowPostingDao.createPartitions(monthsAhead);
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to create CashFlowPosting partitions, monthsAhead='%d'", monthsAhead), ex);
+        }
+    }
 }
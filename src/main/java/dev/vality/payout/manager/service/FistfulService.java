@@ -7,7 +7,6 @@ import dev.vality.fistful.base.CurrencyRef;
 import dev.vality.fistful.deposit.DepositParams;
 import dev.vality.fistful.deposit.DepositState;
 import dev.vality.fistful.deposit.ManagementSrv;
-import dev.vality.payout.manager.dao.SourceDao;
 import dev.vality.payout.manager.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,13 +21,13 @@ import java.util.HashMap;
 public class FistfulService {
 
     private final ManagementSrv.Iface fistfulDepositClient;
-    private final SourceDao sourceDao;
+    private final SourceRegistry sourceRegistry;
 
     public DepositState createDeposit(String payoutId, String walletId, long amount, String currencyCode) {
         DepositParams depositParams = new DepositParams();
         depositParams.setId(toDepositId(payoutId));
         depositParams.setWalletId(walletId);
-        depositParams.setSourceId(sourceDao.getAuthorizedByCurrencyCode(currencyCode).getSourceId());
+        depositParams.setSourceId(sourceRegistry.getAuthorizedSourceId(currencyCode));
         depositParams.setBody(new Cash(amount, new CurrencyRef(currencyCode)));
         log.info("Trying to create deposit, depositParams='{}'", depositParams);
         try {
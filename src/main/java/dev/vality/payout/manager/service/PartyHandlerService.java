@@ -0,0 +1,39 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.payment_processing.PartyChange;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.handler.PartyHandler;
+import dev.vality.payout.manager.serde.PartyChangeMachineEventParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartyHandlerService {
+
+    private final PartyChangeMachineEventParser parser;
+    private final List<PartyHandler> partyHandlers;
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void handleEvents(List<MachineEvent> machineEvents) {
+        machineEvents.forEach(this::handleIfAccept);
+    }
+
+    private void handleIfAccept(MachineEvent event) {
+        var partyEventData = parser.parse(event);
+        if (!partyEventData.isSetChanges()) {
+            return;
+        }
+        for (PartyChange change : partyEventData.getChanges()) {
+            partyHandlers.stream()
+                    .filter(handler -> handler.accept(change))
+                    .forEach(handler -> handler.handle(change, event));
+        }
+    }
+}
@@ -36,6 +36,21 @@ public class PartyManagementService {
         }
     }
 
+    public long getRevision(String partyId) throws NotFoundException {
+        log.debug("Trying to get party revision, partyId='{}'", partyId);
+        try {
+            long revision = partyManagementClient.getRevision(partyId);
+            log.debug("Party revision has been found, partyId='{}', revision='{}'", partyId, revision);
+            return revision;
+        } catch (PartyNotFound ex) {
+            throw new NotFoundException(
+                    String.format("Party not found, partyId='%s'", partyId), ex);
+        } catch (TException ex) {
+            throw new RuntimeException(
+                    String.format("Failed to get party revision, partyId='%s'", partyId), ex);
+        }
+    }
+
     public List<FinalCashFlowPosting> computePayoutCashFlow(
             String partyId,
             String shopId,
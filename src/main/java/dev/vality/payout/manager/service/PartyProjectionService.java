@@ -0,0 +1,110 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.domain.Party;
+import dev.vality.damsel.domain.PayoutTool;
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.dao.PartyPayoutToolDao;
+import dev.vality.payout.manager.dao.PartyRevisionDao;
+import dev.vality.payout.manager.dao.PartyShopDao;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.ShopPayoutTool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+import static dev.vality.payout.manager.util.PartyProjectionUtil.toPartyPayoutTool;
+import static dev.vality.payout.manager.util.PartyProjectionUtil.toPartyShop;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartyProjectionService {
+
+    private final PartyManagementService partyManagementService;
+    private final PartyShopDao partyShopDao;
+    private final PartyPayoutToolDao partyPayoutToolDao;
+    private final PartyRevisionDao partyRevisionDao;
+
+    @Value("${service.partyManagement.projection.revisionCheck}")
+    private boolean revisionCheck;
+
+    public ShopPayoutTool getShopPayoutTool(String partyId, String shopId, String payoutToolId) {
+        return getShopPayoutTool(partyId, shopId, payoutToolId, () -> partyManagementService.getParty(partyId));
+    }
+
+    public ShopPayoutTool getShopPayoutTool(
+            String partyId,
+            String shopId,
+            String payoutToolId,
+            Supplier<Party> partySupplier) {
+        var shopPayoutTool = getFromProjection(partyId, shopId, payoutToolId);
+        if (shopPayoutTool != null) {
+            log.info("Shop has been found in party projection, partyId='{}', shopId='{}'", partyId, shopId);
+            return shopPayoutTool;
+        }
+        log.info("Shop not found in party projection, trying party management, partyId='{}', shopId='{}'",
+                partyId, shopId);
+        return getFromParty(partyId, partySupplier.get(), shopId, payoutToolId);
+    }
+
+    private ShopPayoutTool getFromProjection(String partyId, String shopId, String payoutToolId) {
+        try {
+            var shop = partyShopDao.get(partyId, shopId);
+            if (shop == null || shop.getSettlementAccountId() == null) {
+                return null;
+            }
+            var resolvedPayoutToolId = payoutToolId != null ? payoutToolId : shop.getPayoutToolId();
+            if (resolvedPayoutToolId == null) {
+                return null;
+            }
+            var payoutTool = partyPayoutToolDao.get(partyId, shop.getContractId(), resolvedPayoutToolId);
+            if (payoutTool == null || (revisionCheck && isStale(partyId))) {
+                return null;
+            }
+            return new ShopPayoutTool(shop, payoutTool);
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to get shop from party projection, partyId='%s', shopId='%s'",
+                            partyId, shopId), ex);
+        }
+    }
+
+    private boolean isStale(String partyId) {
+        var partyRevision = partyRevisionDao.get(partyId);
+        return partyRevision == null || partyRevision.getRevision() < partyManagementService.getRevision(partyId);
+    }
+
+    private ShopPayoutTool getFromParty(String partyId, Party party, String shopId, String payoutToolId) {
+        var shop = party.getShops().get(shopId);
+        if (shop == null) {
+            throw new NotFoundException(String.format("Shop not found, shopId='%s'", shopId));
+        }
+        if (payoutToolId == null) {
+            if (!shop.isSetPayoutToolId()) {
+                throw new InvalidRequestException(
+                        String.format("PayoutToolId is null with partyId=%s, shopId=%s", partyId, shopId));
+            }
+            payoutToolId = shop.getPayoutToolId();
+        }
+        var contractId = shop.getContractId();
+        var contract = party.getContracts().get(contractId);
+        if (contract == null) {
+            throw new NotFoundException(String.format("Contract not found, contractId='%s'", contractId));
+        }
+        String resolvedPayoutToolId = payoutToolId;
+        var payoutToolInfo = contract.getPayoutTools().stream()
+                .filter(p -> p.getId().equals(resolvedPayoutToolId))
+                .findAny()
+                .map(PayoutTool::getPayoutToolInfo)
+                .orElseThrow(() -> new NotFoundException(
+                        String.format("PayoutTool not found, payoutToolId='%s'", resolvedPayoutToolId)));
+        return new ShopPayoutTool(
+                toPartyShop(partyId, shopId, shop),
+                toPartyPayoutTool(partyId, contractId, resolvedPayoutToolId, payoutToolInfo));
+    }
+}
@@ -0,0 +1,389 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.accounter.PostingPlanLog;
+import dev.vality.damsel.domain.Cash;
+import dev.vality.damsel.domain.CurrencyRef;
+import dev.vality.damsel.domain.Party;
+import dev.vality.dao.DaoException;
+import dev.vality.geck.common.util.TypeUtil;
+import dev.vality.payout.manager.dao.CashFlowPostingDao;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.dao.PayoutStepDao;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
+import dev.vality.payout.manager.exception.AccounterException;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.InvalidStateException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.PayoutBulkItem;
+import dev.vality.payout.manager.model.PayoutBulkResult;
+import dev.vality.payout.manager.model.PayoutDependencies;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
+import dev.vality.payout.manager.model.ShopPayoutTool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static dev.vality.payout.manager.util.ThriftUtil.toDomainCashFlows;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayoutBulkService {
+
+    private final PayoutService payoutService;
+    private final PartyProjectionService partyProjectionService;
+    private final PartyManagementService partyManagementService;
+    private final ShumwayService shumwayService;
+    private final CashFlowPostingService cashFlowPostingService;
+    private final PayoutStepService payoutStepService;
+    private final PayoutEventService payoutEventService;
+    private final PayoutMetrics payoutMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final PayoutDao payoutDao;
+    private final PayoutStepDao payoutStepDao;
+    private final CashFlowPostingDao cashFlowPostingDao;
+    @Qualifier("payoutBulkExecutor")
+    private final Executor payoutBulkExecutor;
+
+    @Value("${payout.bulk.maxSize}")
+    private int maxSize;
+
+    public List<PayoutBulkResult> create(List<PayoutBulkItem> items) {
+        checkSize(items);
+        log.info("Trying to create payouts in bulk, size='{}'", items.size());
+        var localDateTime = LocalDateTime.now(ZoneOffset.UTC);
+        var createdAt = TypeUtil.temporalToString(localDateTime.toInstant(ZoneOffset.UTC));
+        var entries = items.stream()
+                .map(BulkEntry::new)
+                .toList();
+        validate(entries);
+        var partyEntries = pending(entries).stream()
+                .collect(Collectors.groupingBy(
+                        entry -> entry.item.getPartyId(), LinkedHashMap::new, Collectors.toList()));
+        runAll(partyEntries.values(), sameParty -> resolve(sameParty, localDateTime, createdAt));
+        save(pending(entries));
+        runAll(pending(entries), this::hold);
+        complete(pending(entries));
+        var results = entries.stream()
+                .map(entry -> new PayoutBulkResult(entry.payoutId, entry.error == null, entry.error))
+                .toList();
+        log.info("Payouts have been created in bulk, size='{}', created='{}'",
+                results.size(), results.stream().filter(PayoutBulkResult::isSucceeded).count());
+        return results;
+    }
+
+    public List<PayoutBulkResult> confirm(List<String> payoutIds) {
+        checkSize(payoutIds);
+        log.info("Trying to confirm payouts in bulk, size='{}'", payoutIds.size());
+        var results = changeStatus(payoutIds, PayoutStatus.CONFIRMED, null, PayoutStepType.COMMIT);
+        log.info("Payouts have been confirmed in bulk, size='{}', confirmed='{}'",
+                results.size(), results.stream().filter(PayoutBulkResult::isSucceeded).count());
+        return results;
+    }
+
+    public List<PayoutBulkResult> cancel(List<String> payoutIds, String details) {
+        checkSize(payoutIds);
+        log.info("Trying to cancel payouts in bulk, size='{}'", payoutIds.size());
+        var results = changeStatus(payoutIds, PayoutStatus.CANCELLED, details, PayoutStepType.ROLLBACK);
+        log.info("Payouts have been cancelled in bulk, size='{}', cancelled='{}'",
+                results.size(), results.stream().filter(PayoutBulkResult::isSucceeded).count());
+        return results;
+    }
+
+    private List<PayoutBulkResult> changeStatus(
+            List<String> payoutIds,
+            PayoutStatus targetStatus,
+            String details,
+            PayoutStepType stepType) {
+        var distinctPayoutIds = List.copyOf(new LinkedHashSet<>(payoutIds));
+        var errors = new ConcurrentHashMap<String, String>();
+        var changedPayouts = new HashMap<String, PayoutWithCashFlowPostings>();
+        var steps = transactionTemplate.execute(status -> {
+            try {
+                var payouts = payoutDao.getForUpdate(distinctPayoutIds).stream()
+                        .collect(Collectors.toMap(Payout::getPayoutId, Function.identity()));
+                var pendingPayoutIds = payoutStepDao.getPendingByPayoutIds(payouts.keySet()).stream()
+                        .map(PayoutStep::getPayoutId)
+                        .collect(Collectors.toSet());
+                var changed = new ArrayList<Payout>();
+                for (String payoutId : distinctPayoutIds) {
+                    var payout = payouts.get(payoutId);
+                    if (payout == null) {
+                        errors.put(payoutId, String.format("Payout not found, payoutId='%s'", payoutId));
+                    } else if (payout.getStatus() == targetStatus) {
+                        log.info("Payout already has status, payoutId='{}', status='{}'", payoutId, targetStatus);
+                        checkCompleted(payoutId, stepType, errors);
+                    } else if (payout.getStatus() != PayoutStatus.UNPAID) {
+                        errors.put(payoutId, String.format("Invalid status for '%s' action, payoutId='%s', " +
+                                "currentStatus='%s'", targetStatus, payoutId, payout.getStatus()));
+                    } else if (pendingPayoutIds.contains(payoutId)) {
+                        errors.put(payoutId, String.format("Payout has pending steps, payoutId='%s'", payoutId));
+                    } else {
+                        changed.add(payout);
+                    }
+                }
+                if (changed.isEmpty()) {
+                    return List.<PayoutStep>of();
+                }
+                var changedPayoutIds = changed.stream().map(Payout::getPayoutId).toList();
+                payoutDao.changeStatus(changedPayoutIds, targetStatus, details);
+                payoutMetrics.transition(PayoutStatus.UNPAID, targetStatus, changedPayoutIds.size());
+                var cashFlowPostings = cashFlowPostingDao.getByPayoutIds(changedPayoutIds).stream()
+                        .collect(Collectors.groupingBy(CashFlowPosting::getPayoutId));
+                for (Payout payout : changed) {
+                    payout.setStatus(targetStatus);
+                    payout.setSequenceId(payout.getSequenceId() + 1);
+                    payout.setCancelDetails(details);
+                    changedPayouts.put(payout.getPayoutId(), new PayoutWithCashFlowPostings(
+                            payout, cashFlowPostings.getOrDefault(payout.getPayoutId(), List.of())));
+                }
+                payoutEventService.saveAll(List.copyOf(changedPayouts.values()));
+                return payoutStepService.startAll(changedPayoutIds, stepType);
+            } catch (DaoException ex) {
+                throw new StorageException(
+                        String.format("Failed to change payouts status, payouts='%d', status='%s'",
+                                distinctPayoutIds.size(), targetStatus), ex);
+            }
+        });
+        runAll(steps, step -> {
+            try {
+                payoutStepService.execute(step, changedPayouts.get(step.getPayoutId()));
+            } catch (RuntimeException ex) {
+                log.warn("Payout step has been left to the step worker, payoutId='{}', type='{}'",
+                        step.getPayoutId(), step.getType(), ex);
+                errors.put(step.getPayoutId(), String.valueOf(ex.getMessage()));
+            }
+        });
+        return distinctPayoutIds.stream()
+                .map(payoutId -> new PayoutBulkResult(payoutId, !errors.containsKey(payoutId), errors.get(payoutId)))
+                .toList();
+    }
+
+    private void checkCompleted(String payoutId, PayoutStepType stepType, Map<String, String> errors) {
+        try {
+            payoutStepService.checkCompleted(payoutId, stepType);
+        } catch (AccounterException | InvalidStateException ex) {
+            errors.put(payoutId, ex.getMessage());
+        }
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > maxSize) {
+            throw new InvalidRequestException(
+                    String.format("Bulk size must be between 1 and %d, size='%d'",
+                            maxSize, items == null ? 0 : items.size()));
+        }
+    }
+
+    private void validate(List<BulkEntry> entries) {
+        var payoutIds = new HashSet<String>();
+        for (BulkEntry entry : entries) {
+            var item = entry.item;
+            if (item.getPartyId() == null || item.getShopId() == null || item.getCurrencyCode() == null) {
+                entry.fail("PartyId, shopId and currencyCode must be set");
+            } else if (item.getAmount() == null || item.getAmount() <= 0) {
+                entry.fail("Available amount must be greater than 0");
+            } else if (!payoutIds.add(entry.payoutId)) {
+                entry.fail(String.format("Duplicate payoutId in bulk, payoutId='%s'", entry.payoutId));
+            }
+        }
+        var requestedPayoutIds = entries.stream()
+                .filter(entry -> entry.item.getPayoutId() != null)
+                .map(entry -> entry.payoutId)
+                .toList();
+        if (requestedPayoutIds.isEmpty()) {
+            return;
+        }
+        try {
+            var existingPayoutIds = new HashSet<>(payoutDao.getExistingPayoutIds(requestedPayoutIds));
+            pending(entries).stream()
+                    .filter(entry -> existingPayoutIds.contains(entry.payoutId))
+                    .forEach(entry -> entry.fail(
+                            String.format("Payout already exists, payoutId='%s'", entry.payoutId)));
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to get existing payouts, payoutIds='%d'", requestedPayoutIds.size()), ex);
+        }
+    }
+
+    private void resolve(List<BulkEntry> sameParty, LocalDateTime localDateTime, String createdAt) {
+        var partyId = sameParty.get(0).item.getPartyId();
+        var partyHolder = new AtomicReference<Party>();
+        Supplier<Party> partySupplier = () -> partyHolder.updateAndGet(
+                party -> party != null ? party : partyManagementService.getParty(partyId));
+        var shopPayoutTools = new HashMap<String, ShopPayoutTool>();
+        for (BulkEntry entry : sameParty) {
+            var item = entry.item;
+            try {
+                var shopPayoutTool = shopPayoutTools.computeIfAbsent(
+                        item.getShopId() + "/" + item.getPayoutToolId(),
+                        key -> partyProjectionService.getShopPayoutTool(
+                                partyId, item.getShopId(), item.getPayoutToolId(), partySupplier));
+                var cash = new Cash(item.getAmount(), new CurrencyRef(item.getCurrencyCode()));
+                var finalCashFlowPostings = partyManagementService.computePayoutCashFlow(
+                        partyId, item.getShopId(), cash, shopPayoutTool.getPayoutTool().getPayoutToolId(), createdAt);
+                entry.payout = payoutService.toPayout(entry.payoutId, localDateTime, partyId, item.getShopId(), cash,
+                        new PayoutDependencies(shopPayoutTool, finalCashFlowPostings));
+                entry.cashFlowPostings = toDomainCashFlows(entry.payoutId, localDateTime, finalCashFlowPostings);
+                entry.shop = shopPayoutTool.getShop();
+            } catch (RuntimeException ex) {
+                log.warn("Failed to resolve payout dependencies, payoutId='{}'", entry.payoutId, ex);
+                entry.fail(ex.getMessage());
+            }
+        }
+    }
+
+    private void save(List<BulkEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            var holdSteps = transactionTemplate.execute(status -> {
+                try {
+                    payoutDao.saveAll(entries.stream().map(entry -> entry.payout).toList());
+                } catch (DaoException ex) {
+                    throw new StorageException(
+                            String.format("Failed to save Payouts, payouts='%d'", entries.size()), ex);
+                }
+                cashFlowPostingService.save(entries.stream()
+                        .flatMap(entry -> entry.cashFlowPostings.stream())
+                        .toList());
+                payoutMetrics.transition(null, PayoutStatus.UNPAID, entries.size());
+                return payoutStepService.startAll(
+                        entries.stream().map(entry -> entry.payoutId).toList(), PayoutStepType.HOLD);
+            });
+            var holdStepsByPayoutId = holdSteps.stream()
+                    .collect(Collectors.toMap(PayoutStep::getPayoutId, Function.identity()));
+            entries.forEach(entry -> entry.holdStep = holdStepsByPayoutId.get(entry.payoutId));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to save payouts in bulk, payouts='{}'", entries.size(), ex);
+            entries.forEach(entry -> entry.fail(ex.getMessage()));
+        }
+    }
+
+    private void hold(BulkEntry entry) {
+        try {
+            if (!payoutStepService.renew(entry.holdStep)) {
+                entry.fail(String.format(
+                        "Payout hold has been compensated before hold, payoutId='%s'", entry.payoutId));
+                return;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew payout hold step, payoutId='{}'", entry.payoutId, ex);
+            entry.fail(ex.getMessage());
+            return;
+        }
+        PostingPlanLog postingPlanLog;
+        try {
+            postingPlanLog = shumwayService.hold(entry.payoutId, entry.cashFlowPostings);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to hold payout, payoutId='{}'", entry.payoutId, ex);
+            entry.fail(ex.getMessage());
+            discardHold(entry, "Failed to hold payout");
+            return;
+        }
+        try {
+            payoutService.validateAccount(entry.shop, entry.holdStep, entry.cashFlowPostings, postingPlanLog);
+        } catch (RuntimeException ex) {
+            entry.fail(ex.getMessage());
+        }
+    }
+
+    private void discardHold(BulkEntry entry, String reason) {
+        try {
+            payoutStepService.discardHold(entry.holdStep, entry.cashFlowPostings, reason);
+        } catch (RuntimeException ex) {
+            log.warn("Payout hold has been left to the step worker, payoutId='{}'", entry.payoutId, ex);
+        }
+    }
+
+    private void complete(List<BulkEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<BulkEntry> compensated;
+        try {
+            compensated = transactionTemplate.execute(status -> {
+                var heldPayouts = new ArrayList<PayoutWithCashFlowPostings>(entries.size());
+                var compensatedEntries = new ArrayList<BulkEntry>();
+                for (BulkEntry entry : entries) {
+                    if (payoutStepService.succeed(entry.holdStep)) {
+                        heldPayouts.add(new PayoutWithCashFlowPostings(entry.payout, entry.cashFlowPostings));
+                    } else {
+                        compensatedEntries.add(entry);
+                    }
+                }
+                payoutEventService.saveAll(heldPayouts);
+                return compensatedEntries;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Failed to complete payouts in bulk, payouts='{}'", entries.size(), ex);
+            entries.forEach(entry -> entry.fail(ex.getMessage()));
+            return;
+        }
+        runAll(compensated, entry -> {
+            entry.fail(String.format(
+                    "Payout hold has been compensated before completion, payoutId='%s'", entry.payoutId));
+            try {
+                payoutStepService.rollbackHold(entry.payoutId);
+            } catch (RuntimeException ex) {
+                log.error("Failed to roll back payout hold, payoutId='{}'", entry.payoutId, ex);
+            }
+        });
+    }
+
+    private <T> void runAll(Collection<T> tasks, Consumer<T> consumer) {
+        CompletableFuture.allOf(tasks.stream()
+                        .map(task -> CompletableFuture.runAsync(() -> consumer.accept(task), payoutBulkExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private List<BulkEntry> pending(List<BulkEntry> entries) {
+        return entries.stream()
+                .filter(entry -> entry.error == null)
+                .toList();
+    }
+
+    private static class BulkEntry {
+
+        private final PayoutBulkItem item;
+        private final String payoutId;
+        private Payout payout;
+        private List<CashFlowPosting> cashFlowPostings;
+        private PartyShop shop;
+        private PayoutStep holdStep;
+        private volatile String error;
+
+        private BulkEntry(PayoutBulkItem item) {
+            this.item = item;
+            this.payoutId = item.getPayoutId() != null ? item.getPayoutId() : UUID.randomUUID().toString();
+        }
+
+        private void fail(String error) {
+            if (this.error == null) {
+                this.error = String.valueOf(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.woody.api.flow.error.WErrorDefinition;
+import dev.vality.woody.api.flow.error.WErrorSource;
+import dev.vality.woody.api.flow.error.WErrorType;
+import dev.vality.woody.api.flow.error.WUnavailableResultException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.thrift.TException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class PayoutConcurrencyLimiter {
+
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int maxQueueSize;
+    private final int maxQueuePerParty;
+    private final long maxWait;
+    private final Counter rejected;
+
+    private final Map<String, ArrayDeque<Waiter>> queues = new LinkedHashMap<>();
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+    private int queued;
+
+    public PayoutConcurrencyLimiter(
+            @Value("${payout.limiter.enabled}") boolean enabled,
+            @Value("${payout.limiter.initialLimit}") int initialLimit,
+            @Value("${payout.limiter.minLimit}") int minLimit,
+            @Value("${payout.limiter.maxLimit}") int maxLimit,
+            @Value("${payout.limiter.smoothing}") double smoothing,
+            @Value("${payout.limiter.tolerance}") double tolerance,
+            @Value("${payout.limiter.maxQueueSize}") int maxQueueSize,
+            @Value("${payout.limiter.maxQueuePerParty}") int maxQueuePerParty,
+            @Value("${payout.limiter.maxWait}") long maxWait,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueuePerParty = maxQueuePerParty;
+        this.maxWait = maxWait;
+        this.rejected = meterRegistry.counter("payout.limiter.rejected");
+        Gauge.builder("payout.limiter.limit", this, PayoutConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("payout.limiter.inflight", this, PayoutConcurrencyLimiter::getInFlight).register(meterRegistry);
+        Gauge.builder("payout.limiter.queued", this, PayoutConcurrencyLimiter::getQueued).register(meterRegistry);
+    }
+
+    public <T> T execute(String partyId, LimitedCall<T> call) throws TException {
+        if (!enabled) {
+            return call.call();
+        }
+        acquire(partyId);
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            release(System.nanoTime() - start);
+        }
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    private void acquire(String partyId) {
+        Waiter waiter;
+        synchronized (this) {
+            if (queued == 0 && inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+            ArrayDeque<Waiter> queue = queues.computeIfAbsent(partyId, key -> new ArrayDeque<>());
+            if (queued >= maxQueueSize || queue.size() >= maxQueuePerParty) {
+                if (queue.isEmpty()) {
+                    queues.remove(partyId);
+                }
+                throw reject(partyId, "queue is full");
+            }
+            waiter = new Waiter();
+            queue.add(waiter);
+            queued++;
+        }
+        try {
+            if (waiter.latch.await(maxWait, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (waiter.granted) {
+                return;
+            }
+            ArrayDeque<Waiter> queue = queues.get(partyId);
+            queue.remove(waiter);
+            if (queue.isEmpty()) {
+                queues.remove(partyId);
+            }
+            queued--;
+        }
+        throw reject(partyId, "queue wait timed out");
+    }
+
+    private synchronized void release(long rttNanos) {
+        int inFlightAtSample = inFlight;
+        inFlight--;
+        onSample(rttNanos, inFlightAtSample);
+        grantNext();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        longRtt = longRtt == 0 ? rttNanos : longRtt * (1 - LONG_RTT_ALPHA) + rttNanos * LONG_RTT_ALPHA;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (inFlightAtSample < limit / 2) {
+            newLimit = Math.min(newLimit, limit);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+    }
+
+    private void grantNext() {
+        while (queued > 0 && inFlight < (int) limit) {
+            Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = queues.entrySet().iterator();
+            Map.Entry<String, ArrayDeque<Waiter>> next = iterator.next();
+            iterator.remove();
+            Waiter waiter = next.getValue().poll();
+            if (!next.getValue().isEmpty()) {
+                queues.put(next.getKey(), next.getValue());
+            }
+            queued--;
+            inFlight++;
+            waiter.granted = true;
+            waiter.latch.countDown();
+        }
+    }
+
+    private WUnavailableResultException reject(String partyId, String reason) {
+        rejected.increment();
+        log.warn("Payout request has been rejected by concurrency limiter, partyId='{}', reason='{}', limit={}",
+                partyId, reason, (int) limit);
+        var errorDefinition = new WErrorDefinition(WErrorSource.INTERNAL);
+        errorDefinition.setErrorType(WErrorType.UNAVAILABLE_RESULT);
+        errorDefinition.setErrorSource(WErrorSource.INTERNAL);
+        errorDefinition.setErrorReason(String.format("Concurrency limit exceeded: %s", reason));
+        return new WUnavailableResultException(errorDefinition);
+    }
+
+    @FunctionalInterface
+    public interface LimitedCall<T> {
+
+        T call() throws TException;
+
+    }
+
+    private static final class Waiter {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private boolean granted;
+    }
+}
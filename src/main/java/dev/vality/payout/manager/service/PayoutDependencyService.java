@@ -0,0 +1,108 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.domain.Cash;
+import dev.vality.damsel.domain.FinalCashFlowPosting;
+import dev.vality.payout.manager.exception.DependencyUnavailableException;
+import dev.vality.payout.manager.model.PayoutDependencies;
+import dev.vality.payout.manager.model.ShopPayoutTool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayoutDependencyService {
+
+    private final PartyProjectionService partyProjectionService;
+    private final PartyManagementService partyManagementService;
+    private final PayoutMetrics payoutMetrics;
+    @Qualifier("payoutCreateExecutor")
+    private final Executor payoutCreateExecutor;
+
+    @Value("${payout.create.timeout}")
+    private long timeout;
+
+    public PayoutDependencies resolve(
+            String partyId,
+            String shopId,
+            Cash cash,
+            String payoutToolId,
+            String createdAt) {
+        log.debug("Trying to resolve payout dependencies, partyId='{}', shopId='{}'", partyId, shopId);
+        return timed("fan_out", () -> {
+            CompletableFuture<ShopPayoutTool> shopPayoutToolFuture = supplyAsync(
+                    "party",
+                    () -> partyProjectionService.getShopPayoutTool(partyId, shopId, payoutToolId));
+            CompletableFuture<List<FinalCashFlowPosting>> cashFlowFuture;
+            if (payoutToolId != null) {
+                cashFlowFuture = supplyAsync(
+                        "cash_flow",
+                        () -> partyManagementService.computePayoutCashFlow(
+                                partyId, shopId, cash, payoutToolId, createdAt));
+            } else {
+                cashFlowFuture = shopPayoutToolFuture.thenApplyAsync(
+                        shopPayoutTool -> timed("cash_flow", () -> partyManagementService.computePayoutCashFlow(
+                                partyId, shopId, cash, shopPayoutTool.getPayoutTool().getPayoutToolId(), createdAt)),
+                        payoutCreateExecutor);
+            }
+            await(partyId, shopPayoutToolFuture, cashFlowFuture);
+            return new PayoutDependencies(join(shopPayoutToolFuture), join(cashFlowFuture));
+        });
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(String phase, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(phase, supplier), payoutCreateExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw rejected(ex);
+        }
+    }
+
+    private void await(String partyId, CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            for (CompletableFuture<?> future : futures) {
+                future.cancel(false);
+            }
+            throw new RuntimeException(
+                    String.format("Timeout while resolving payout dependencies, partyId='%s', timeout='%d'",
+                            partyId, timeout), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(
+                    String.format("Interrupted while resolving payout dependencies, partyId='%s'", partyId), ex);
+        } catch (ExecutionException ex) {
+            log.debug("Failed to resolve payout dependencies, partyId='{}'", partyId, ex);
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RejectedExecutionException) {
+                throw rejected(ex.getCause());
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private DependencyUnavailableException rejected(Throwable cause) {
+        return new DependencyUnavailableException("Payout create executor is saturated", cause);
+    }
+
+    private <T> T timed(String phase, Supplier<T> supplier) {
+        return payoutMetrics.phase(PayoutMetrics.CREATE, phase, supplier);
+    }
+}
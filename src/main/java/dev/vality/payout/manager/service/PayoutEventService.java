@@ -0,0 +1,114 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.dao.DaoException;
+import dev.vality.kafka.common.serialization.ThriftSerializer;
+import dev.vality.payout.manager.Event;
+import dev.vality.payout.manager.dao.CashFlowPostingDao;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.dao.PayoutEventDao;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutEvent;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
+import dev.vality.payout.manager.serde.PayoutEventDeserializer;
+import dev.vality.payout.manager.util.ThriftUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayoutEventService {
+
+    private final PayoutEventDao payoutEventDao;
+    private final PayoutDao payoutDao;
+    private final CashFlowPostingDao cashFlowPostingDao;
+    private final PayoutKafkaProducerService payoutKafkaProducerService;
+    private final PayoutMetrics payoutMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThriftSerializer<Event> serializer = new ThriftSerializer<>();
+    private final PayoutEventDeserializer deserializer = new PayoutEventDeserializer();
+
+    @Value("${kafka.topic.pm-events-payout.name}")
+    private String topicName;
+
+    @Value("${kafka.topic.pm-events-payout.produce.enabled}")
+    private boolean producerEnabled;
+
+    @Value("${kafka.topic.pm-events-payout.produce.relay.batchSize}")
+    private int batchSize;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void save(String payoutId) {
+        if (!producerEnabled) {
+            return;
+        }
+        log.info("Trying to save a payout event, payoutId='{}'", payoutId);
+        try {
+            Payout payout = payoutDao.get(payoutId);
+            List<CashFlowPosting> cashFlowPostings = cashFlowPostingDao.getByPayoutId(payoutId);
+            payoutEventDao.save(toPayoutEvent(payout, cashFlowPostings, LocalDateTime.now(ZoneOffset.UTC)));
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to save a payout event, payoutId='%s'", payoutId), ex);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saveAll(List<PayoutWithCashFlowPostings> payouts) {
+        if (!producerEnabled || payouts.isEmpty()) {
+            return;
+        }
+        log.info("Trying to save payout events, payouts='{}'", payouts.size());
+        try {
+            var now = LocalDateTime.now(ZoneOffset.UTC);
+            payoutEventDao.saveAll(payouts.stream()
+                    .map(payout -> toPayoutEvent(payout.getPayout(), payout.getCashFlowPostings(), now))
+                    .toList());
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to save payout events, payouts='%d'", payouts.size()), ex);
+        }
+    }
+
+    public int relay() {
+        return transactionTemplate.execute(status -> {
+            try {
+                var payoutEvents = payoutEventDao.getBatchForUpdate(batchSize);
+                if (payoutEvents.isEmpty()) {
+                    return 0;
+                }
+                var events = payoutEvents.stream()
+                        .map(payoutEvent -> deserializer.deserialize(topicName, payoutEvent.getEvent()))
+                        .toList();
+                payoutMetrics.phase(PayoutMetrics.RELAY, "send", () -> payoutKafkaProducerService.send(events));
+                payoutEventDao.remove(payoutEvents.stream().map(PayoutEvent::getId).toList());
+                log.info("Payout events have been relayed, size={}", payoutEvents.size());
+                return payoutEvents.size();
+            } catch (DaoException ex) {
+                throw new StorageException("Failed to relay payout events", ex);
+            }
+        });
+    }
+
+    private PayoutEvent toPayoutEvent(Payout payout, List<CashFlowPosting> cashFlowPostings, LocalDateTime now) {
+        var event = ThriftUtil.createEvent(payout, cashFlowPostings);
+        var payoutEvent = new PayoutEvent();
+        payoutEvent.setPayoutId(payout.getPayoutId());
+        payoutEvent.setSequenceId(payout.getSequenceId());
+        payoutEvent.setCreatedAt(now);
+        payoutEvent.setEvent(serializer.serialize(topicName, event));
+        return payoutEvent;
+    }
+}
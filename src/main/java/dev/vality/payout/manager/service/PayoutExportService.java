@@ -0,0 +1,164 @@
+package dev.vality.payout.manager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.exception.TooManyRequestsException;
+import dev.vality.payout.manager.model.PayoutExportFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class PayoutExportService {
+
+    private static final String CSV_HEADER = String.join(",", toRow(new Payout(), new CashFlowPosting()).keySet());
+
+    private final PayoutDao payoutDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public PayoutExportService(
+            PayoutDao payoutDao,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${payout.export.maxConcurrent}") int maxConcurrent) {
+        this.payoutDao = payoutDao;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public void validate(LocalDateTime fromTime, LocalDateTime toTime) {
+        if (fromTime == null || toTime == null || !fromTime.isBefore(toTime)) {
+            throw new InvalidRequestException(
+                    String.format("fromTime must be before toTime, fromTime='%s', toTime='%s'", fromTime, toTime));
+        }
+    }
+
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            meterRegistry.counter("payout.export.rejected").increment();
+            throw new TooManyRequestsException(
+                    String.format("Too many concurrent exports, maxConcurrent='%d'", maxConcurrent));
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public void export(
+            LocalDateTime fromTime,
+            LocalDateTime toTime,
+            PayoutExportFormat format,
+            OutputStream outputStream) {
+        validate(fromTime, toTime);
+        log.info("Trying to export payouts, fromTime='{}', toTime='{}', format='{}'", fromTime, toTime, format);
+        var rows = new AtomicLong();
+        var rowCounter = meterRegistry.counter("payout.export.rows", "format", format.name());
+        long start = System.nanoTime();
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            if (format == PayoutExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    payoutDao.export(fromTime, toTime, (payout, cashFlowPosting) -> {
+                        writeRow(writer, format, toRow(payout, cashFlowPosting));
+                        rows.incrementAndGet();
+                        rowCounter.increment();
+                    });
+                } catch (DaoException ex) {
+                    throw new StorageException(
+                            String.format("Failed to export payouts, fromTime='%s', toTime='%s'", fromTime, toTime),
+                            ex);
+                }
+            });
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        double rowsPerSecond = rows.get() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsed, 1);
+        meterRegistry.summary("payout.export.throughput", "format", format.name()).record(rowsPerSecond);
+        log.info("Payouts have been exported, rows={}, rowsPerSecond={}", rows.get(), (long) rowsPerSecond);
+    }
+
+    private static Map<String, Object> toRow(Payout payout, CashFlowPosting cashFlowPosting) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("payout_id", payout.getPayoutId());
+        row.put("party_id", payout.getPartyId());
+        row.put("shop_id", payout.getShopId());
+        row.put("status", payout.getStatus());
+        row.put("created_at", payout.getCreatedAt());
+        row.put("payout_tool_id", payout.getPayoutToolId());
+        row.put("amount", payout.getAmount());
+        row.put("fee", payout.getFee());
+        row.put("currency_code", payout.getCurrencyCode());
+        row.put("posting_id", cashFlowPosting.getId());
+        row.put("from_account_id", cashFlowPosting.getFromAccountId());
+        row.put("from_account_type", cashFlowPosting.getFromAccountType());
+        row.put("to_account_id", cashFlowPosting.getToAccountId());
+        row.put("to_account_type", cashFlowPosting.getToAccountType());
+        row.put("posting_amount", cashFlowPosting.getAmount());
+        row.put("posting_currency_code", cashFlowPosting.getCurrencyCode());
+        row.put("description", cashFlowPosting.getDescription());
+        return row;
+    }
+
+    private void writeRow(Writer writer, PayoutExportFormat format, Map<String, Object> row) {
+        try {
+            switch (format) {
+                case NDJSON -> {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                case CSV -> {
+                    writer.write(row.values().stream()
+                            .map(this::toCsvValue)
+                            .collect(Collectors.joining(",")));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -6,7 +6,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -18,28 +24,27 @@ public class PayoutKafkaProducerService {
     @Value("${kafka.topic.pm-events-payout.name}")
     private String topicName;
 
-    @Value("${kafka.topic.pm-events-payout.produce.enabled}")
-    private boolean producerEnabled;
-
-    public void send(Event event) {
-        if (producerEnabled) {
-            sendPayout(event);
-        }
-    }
+    @Value("${kafka.topic.pm-events-payout.produce.sendTimeout}")
+    private long sendTimeout;
 
-    private void sendPayout(Event event) {
+    public void send(List<Event> events) {
         try {
-            log.info("Try to send payout data to kafka: topicName={}, payoutId={}",
-                    topicName, event.getPayoutId());
-            kafkaTemplate.send(topicName, event.getPayoutId(), event).get();
-            log.info("Payout data to kafka was sent: topicName={}, payoutId={}",
-                    topicName, event.getPayoutId());
+            log.info("Try to send payout data to kafka: topicName={}, size={}", topicName, events.size());
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+            List<ListenableFuture<SendResult<String, Event>>> futures = new ArrayList<>(events.size());
+            for (Event event : events) {
+                futures.add(kafkaTemplate.send(topicName, event.getPayoutId(), event));
+            }
+            for (ListenableFuture<SendResult<String, Event>> future : futures) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            log.info("Payout data to kafka was sent: topicName={}, size={}", topicName, events.size());
         } catch (InterruptedException e) {
-            log.error("InterruptedException command: {}", event, e);
+            log.error("InterruptedException command, size={}", events.size(), e);
             Thread.currentThread().interrupt();
             throw new KafkaProduceException(e);
         } catch (Exception e) {
-            log.error("Error while sending command: {}", event, e);
+            log.error("Error while sending command, size={}", events.size(), e);
             throw new KafkaProduceException(e);
         }
     }
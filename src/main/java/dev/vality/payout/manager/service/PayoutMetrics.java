@@ -0,0 +1,111 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class PayoutMetrics {
+
+    public static final String CREATE = "create";
+    public static final String CONFIRM = "confirm";
+    public static final String CANCEL = "cancel";
+    public static final String STEP = "step";
+    public static final String RELAY = "relay";
+
+    private static final String TOTAL_PHASE = "total";
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public PayoutMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T operation(String operation, Supplier<T> supplier) {
+        var counter = inFlight.computeIfAbsent(operation, this::registerInFlight);
+        counter.incrementAndGet();
+        try {
+            return phase(operation, TOTAL_PHASE, supplier);
+        } finally {
+            counter.decrementAndGet();
+        }
+    }
+
+    public void operation(String operation, Runnable runnable) {
+        operation(operation, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public <T> T phase(String operation, String phase, Supplier<T> supplier) {
+        var sample = Timer.start(meterRegistry);
+        try {
+            T result = supplier.get();
+            sample.stop(phaseTimer(operation, phase, SUCCESS, NONE));
+            return result;
+        } catch (RuntimeException ex) {
+            sample.stop(phaseTimer(operation, phase, FAILURE, ex.getClass().getSimpleName()));
+            throw ex;
+        }
+    }
+
+    public void phase(String operation, String phase, Runnable runnable) {
+        phase(operation, phase, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public void transition(PayoutStatus from, PayoutStatus to) {
+        transition(from, to, 1);
+    }
+
+    public void transition(PayoutStatus from, PayoutStatus to, int count) {
+        if (count == 0) {
+            return;
+        }
+        var counter = Counter.builder("payout.status.transitions")
+                .tags("from", from != null ? from.getLiteral() : NONE, "to", to.getLiteral())
+                .register(meterRegistry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment(count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment(count);
+            }
+        });
+    }
+
+    private Timer phaseTimer(String operation, String phase, String outcome, String exception) {
+        return Timer.builder("payout." + operation + ".phase")
+                .tags("phase", phase, "outcome", outcome, "exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger registerInFlight(String operation) {
+        var counter = new AtomicInteger();
+        Gauge.builder("payout.inflight", counter, AtomicInteger::get)
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return counter;
+    }
+}
@@ -0,0 +1,79 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.PayoutSearchFilter;
+import dev.vality.payout.manager.model.PayoutSearchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayoutSearchService {
+
+    private static final String TOKEN_DELIMITER = "|";
+
+    private final PayoutDao payoutDao;
+
+    @Value("${payout.search.defaultLimit}")
+    private int defaultLimit;
+
+    @Value("${payout.search.maxLimit}")
+    private int maxLimit;
+
+    public PayoutSearchResult search(PayoutSearchFilter filter, Integer limit, String continuationToken) {
+        log.info("Trying to search payouts, filter='{}', limit='{}', continuationToken='{}'",
+                filter, limit, continuationToken);
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize <= 0 || pageSize > maxLimit) {
+            throw new InvalidRequestException(
+                    String.format("Limit must be between 1 and %d, limit='%d'", maxLimit, pageSize));
+        }
+        if (filter.getFromTime() != null && filter.getToTime() != null
+                && !filter.getFromTime().isBefore(filter.getToTime())) {
+            throw new InvalidRequestException(
+                    String.format("fromTime must be before toTime, fromTime='%s', toTime='%s'",
+                            filter.getFromTime(), filter.getToTime()));
+        }
+        Payout lastPayout = continuationToken != null ? decodeToken(continuationToken) : new Payout();
+        try {
+            List<Payout> payouts = payoutDao.search(filter, lastPayout.getCreatedAt(), lastPayout.getId(), pageSize);
+            String nextToken = payouts.size() < pageSize ? null : encodeToken(payouts.get(payouts.size() - 1));
+            return new PayoutSearchResult(payouts, nextToken);
+        } catch (DaoException ex) {
+            throw new StorageException(String.format("Failed to search payouts, filter='%s'", filter), ex);
+        }
+    }
+
+    private String encodeToken(Payout payout) {
+        String token = payout.getCreatedAt() + TOKEN_DELIMITER + payout.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Payout decodeToken(String continuationToken) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            String[] parts = token.split(Pattern.quote(TOKEN_DELIMITER), 2);
+            var payout = new Payout();
+            payout.setCreatedAt(LocalDateTime.parse(parts[0]));
+            payout.setId(Long.parseLong(parts[1]));
+            return payout;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+            throw new InvalidRequestException(
+                    String.format("Invalid continuationToken, continuationToken='%s'", continuationToken));
+        }
+    }
+}
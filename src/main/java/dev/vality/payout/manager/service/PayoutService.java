@@ -1,25 +1,38 @@
 package dev.vality.payout.manager.service;
 
 import dev.vality.damsel.accounter.PostingPlanLog;
-import dev.vality.damsel.domain.*;
+import dev.vality.damsel.domain.Cash;
 import dev.vality.dao.DaoException;
 import dev.vality.geck.common.util.TypeUtil;
 import dev.vality.payout.manager.dao.PayoutDao;
 import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
 import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
 import dev.vality.payout.manager.exception.*;
+import dev.vality.payout.manager.jfr.PayoutOperationEvent;
+import dev.vality.payout.manager.model.PayoutDependencies;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
 import dev.vality.payout.manager.util.CashFlowType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.UUID;
 
-import static dev.vality.payout.manager.util.ThriftUtil.parseCashFlow;
+import static dev.vality.payout.manager.service.PayoutMetrics.CANCEL;
+import static dev.vality.payout.manager.service.PayoutMetrics.CONFIRM;
+import static dev.vality.payout.manager.service.PayoutMetrics.CREATE;
+import static dev.vality.payout.manager.util.ThriftUtil.sumCashFlow;
 import static dev.vality.payout.manager.util.ThriftUtil.toDomainCashFlows;
 
 @Slf4j
@@ -28,14 +41,31 @@ import static dev.vality.payout.manager.util.ThriftUtil.toDomainCashFlows;
 public class PayoutService {
 
     private final ShumwayService shumwayService;
-    private final PartyManagementService partyManagementService;
+    private final PayoutDependencyService payoutDependencyService;
     private final CashFlowPostingService cashFlowPostingService;
-    private final FistfulService fistfulService;
+    private final PayoutStepService payoutStepService;
+    private final PayoutEventService payoutEventService;
+    private final PayoutMetrics payoutMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     private final PayoutDao payoutDao;
 
-    @Transactional(propagation = Propagation.REQUIRED)
+    @Value("${payout.get.joined}")
+    private boolean joinedGet;
+
     public String create(String partyId, String shopId, Cash cash, String payoutId, String payoutToolId) {
+        var event = new PayoutOperationEvent(CREATE, payoutId);
+        return event.record(() -> payoutMetrics.operation(CREATE,
+                () -> createPayout(event, partyId, shopId, cash, payoutId, payoutToolId)));
+    }
+
+    private String createPayout(
+            PayoutOperationEvent event,
+            String partyId,
+            String shopId,
+            Cash cash,
+            String payoutId,
+            String payoutToolId) {
         log.info("Trying to create a payout, partyId='{}', shopId='{}', payoutId='{}', payoutToolId='{}'",
                 partyId, shopId, payoutId, payoutToolId);
         if (cash.getAmount() <= 0) {
@@ -46,51 +76,48 @@ public class PayoutService {
         } else {
             validatePayoutId(payoutId);
         }
-        var party = partyManagementService.getParty(partyId);
-        var shop = party.getShops().get(shopId);
-        if (shop == null) {
-            throw new NotFoundException(String.format("Shop not found, shopId='%s'", shopId));
-        }
-        if (payoutToolId == null) {
-            if (!shop.isSetPayoutToolId()) {
-                throw new InvalidRequestException(
-                        String.format("PayoutToolId is null with partyId=%s, shopId=%s", partyId, shopId));
-            }
-            payoutToolId = shop.getPayoutToolId();
-        }
-
+        event.setPayoutId(payoutId);
         var localDateTime = LocalDateTime.now(ZoneOffset.UTC);
         var createdAt = TypeUtil.temporalToString(localDateTime.toInstant(ZoneOffset.UTC));
-        var finalCashFlowPostings = partyManagementService.computePayoutCashFlow(
-                partyId,
-                shopId,
-                cash,
-                payoutToolId,
-                createdAt);
-        var cashFlow = parseCashFlow(finalCashFlowPostings);
-        var cashFlowAmount = cashFlow.getOrDefault(CashFlowType.PAYOUT_AMOUNT, 0L);
-        var cashFlowPayoutFee = cashFlow.getOrDefault(CashFlowType.PAYOUT_FIXED_FEE, 0L);
-        var cashFlowFee = cashFlow.getOrDefault(CashFlowType.FEE, 0L);
-        var amount = cashFlowAmount - cashFlowPayoutFee;
-        var fee = cashFlowFee + cashFlowPayoutFee;
-        if (amount <= 0) {
-            throw new InsufficientFundsException(
-                    String.format("Negative amount in payout cash flow, amount='%d', fee='%d'", amount, fee));
+        var payoutDependencies = payoutDependencyService.resolve(partyId, shopId, cash, payoutToolId, createdAt);
+        var shop = payoutDependencies.getShopPayoutTool().getShop();
+        var payout = toPayout(payoutId, localDateTime, partyId, shopId, cash, payoutDependencies);
+        var createdPayoutId = payoutId;
+        var cashFlowPostings = toDomainCashFlows(
+                payoutId, localDateTime, payoutDependencies.getFinalCashFlowPostings());
+        event.setCashFlowPostings(cashFlowPostings.size());
+        var holdStep = payoutMetrics.phase(CREATE, "persist", () -> transactionTemplate.execute(status -> {
+            save(payout);
+            cashFlowPostingService.save(cashFlowPostings);
+            payoutMetrics.transition(null, PayoutStatus.UNPAID);
+            event.setPayoutRows(1);
+            return payoutStepService.start(createdPayoutId, PayoutStepType.HOLD);
+        }));
+        if (!payoutStepService.renew(holdStep)) {
+            throw new AccounterException(String.format(
+                    "Payout hold has been compensated before hold, payoutId='%s'", createdPayoutId));
+        }
+        PostingPlanLog postingPlanLog;
+        try {
+            postingPlanLog = payoutMetrics.phase(CREATE, "hold",
+                    () -> shumwayService.hold(createdPayoutId, cashFlowPostings));
+        } catch (RuntimeException ex) {
+            payoutStepService.discardHold(holdStep, cashFlowPostings, "Failed to hold payout");
+            throw ex;
+        }
+        validateAccount(shop, holdStep, cashFlowPostings, postingPlanLog);
+        boolean completed = payoutMetrics.phase(CREATE, "complete", () -> transactionTemplate.execute(status -> {
+            if (!payoutStepService.succeed(holdStep)) {
+                return false;
+            }
+            payoutEventService.save(createdPayoutId);
+            return true;
+        }));
+        if (!completed) {
+            payoutStepService.rollbackHold(createdPayoutId);
+            throw new AccounterException(String.format(
+                    "Payout hold has been compensated before completion, payoutId='%s'", createdPayoutId));
         }
-        var payoutToolInfo = getPayoutToolInfo(payoutToolId, shop, party);
-        String walletId = null;
-        if (payoutToolInfo.isSetWalletInfo()) {
-            walletId = payoutToolInfo.getWalletInfo().getWalletId();
-        }
-        var domainPayoutToolInfo = TypeUtil.toEnumField(
-                payoutToolInfo.getSetField().getFieldName(),
-                dev.vality.payout.manager.domain.enums.PayoutToolInfo.class);
-        save(payoutId, localDateTime, partyId, shopId, payoutToolId,
-                amount, fee, cash.getCurrency().getSymbolicCode(), domainPayoutToolInfo, walletId);
-        var cashFlowPostings = toDomainCashFlows(payoutId, localDateTime, finalCashFlowPostings);
-        cashFlowPostingService.save(cashFlowPostings);
-        var postingPlanLog = shumwayService.hold(payoutId, cashFlowPostings);
-        validateAccount(shopId, payoutId, party, postingPlanLog);
         log.info("Payout has been created, payoutId='{}'", payoutId);
         return payoutId;
     }
@@ -107,25 +134,41 @@ public class PayoutService {
             String symbolicCode,
             dev.vality.payout.manager.domain.enums.PayoutToolInfo payoutToolInfo,
             String walletId) {
-        log.info("Trying to save a Payout, payoutId='{}'", payoutId);
+        save(buildPayout(payoutId, createdAt, partyId, shopId, payoutToolId, amount, fee, symbolicCode,
+                payoutToolInfo, walletId));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void save(Payout payout) {
+        log.info("Trying to save a Payout, payoutId='{}'", payout.getPayoutId());
         try {
-            var payout = new Payout();
-            payout.setSequenceId(0);
-            payout.setPayoutId(payoutId);
-            payout.setCreatedAt(createdAt);
-            payout.setPartyId(partyId);
-            payout.setShopId(shopId);
-            payout.setStatus(PayoutStatus.UNPAID);
-            payout.setPayoutToolId(payoutToolId);
-            payout.setAmount(amount);
-            payout.setFee(fee);
-            payout.setCurrencyCode(symbolicCode);
-            payout.setPayoutToolInfo(payoutToolInfo);
-            payout.setWalletId(walletId);
             payoutDao.save(payout);
         } catch (DaoException ex) {
-            throw new StorageException(String.format("Failed to save Payout, payoutId='%s'", payoutId), ex);
+            throw new StorageException(
+                    String.format("Failed to save Payout, payoutId='%s'", payout.getPayoutId()), ex);
+        }
+    }
+
+    Payout toPayout(
+            String payoutId,
+            LocalDateTime createdAt,
+            String partyId,
+            String shopId,
+            Cash cash,
+            PayoutDependencies payoutDependencies) {
+        var payoutTool = payoutDependencies.getShopPayoutTool().getPayoutTool();
+        var cashFlow = sumCashFlow(payoutDependencies.getFinalCashFlowPostings());
+        var cashFlowAmount = cashFlow[CashFlowType.PAYOUT_AMOUNT.ordinal()];
+        var cashFlowPayoutFee = cashFlow[CashFlowType.PAYOUT_FIXED_FEE.ordinal()];
+        var cashFlowFee = cashFlow[CashFlowType.FEE.ordinal()];
+        var amount = cashFlowAmount - cashFlowPayoutFee;
+        var fee = cashFlowFee + cashFlowPayoutFee;
+        if (amount <= 0) {
+            throw new InsufficientFundsException(
+                    String.format("Negative amount in payout cash flow, amount='%d', fee='%d'", amount, fee));
         }
+        return buildPayout(payoutId, createdAt, partyId, shopId, payoutTool.getPayoutToolId(), amount, fee,
+                cash.getCurrency().getSymbolicCode(), payoutTool.getPayoutToolInfo(), payoutTool.getWalletId());
     }
 
     public Payout get(String payoutId) {
@@ -142,59 +185,97 @@ public class PayoutService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
+    public PayoutWithCashFlowPostings getWithCashFlowPostings(String payoutId) {
+        if (!joinedGet) {
+            return new PayoutWithCashFlowPostings(get(payoutId), cashFlowPostingService.getCashFlowPostings(payoutId));
+        }
+        log.info("Trying to get a Payout with CashFlowPostings, payoutId='{}'", payoutId);
+        PayoutWithCashFlowPostings payoutWithCashFlowPostings;
+        try {
+            payoutWithCashFlowPostings = payoutDao.getWithCashFlowPostings(payoutId);
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to get a Payout with CashFlowPostings, payoutId='%s'", payoutId), ex);
+        }
+        if (payoutWithCashFlowPostings == null) {
+            throw new NotFoundException(String.format("Payout not found, payoutId='%s'", payoutId));
+        }
+        if (payoutWithCashFlowPostings.getCashFlowPostings().isEmpty()) {
+            throw new NotFoundException(String.format("CashFlowPosting not found, payoutId='%s'", payoutId));
+        }
+        return payoutWithCashFlowPostings;
+    }
+
     public void confirm(String payoutId) {
+        var event = new PayoutOperationEvent(CONFIRM, payoutId);
+        event.record(() -> payoutMetrics.operation(CONFIRM, () -> confirmPayout(event, payoutId)));
+    }
+
+    private void confirmPayout(PayoutOperationEvent event, String payoutId) {
         log.info("Trying to confirm a payout, payoutId='{}'", payoutId);
-        try {
-            var payout = getForUpdate(payoutId);
-            if (payout.getStatus() == PayoutStatus.CONFIRMED) {
-                log.info("Payout already confirmed, payoutId='{}'", payoutId);
-                return;
-            } else if (payout.getStatus() != PayoutStatus.UNPAID) {
-                throw new InvalidStateException(
-                        String.format("Invalid status for 'confirm' action, payoutId='%s', currentStatus='%s'",
-                                payoutId, payout.getStatus())
-                );
-            }
-            payoutDao.changeStatus(payoutId, PayoutStatus.CONFIRMED);
-            shumwayService.commit(payoutId);
-            if (payout.getPayoutToolInfo() == dev.vality.payout.manager.domain.enums.PayoutToolInfo.WALLET_INFO) {
-                try {
-                    fistfulService.createDeposit(payoutId, payout.getWalletId(),
-                            payout.getAmount(), payout.getCurrencyCode());
-                } catch (Exception ex) {
-                    log.warn("Failed to confirm then fistfulService.createDeposit", ex);
-                    payoutDao.changeStatus(payoutId, PayoutStatus.FAILED);
-                    shumwayService.revert(payoutId);
-                    return;
+        var commitStep = payoutMetrics.phase(CONFIRM, "persist", () -> transactionTemplate.execute(status -> {
+            try {
+                var payout = getForUpdate(payoutId);
+                if (payout.getStatus() == PayoutStatus.CONFIRMED) {
+                    log.info("Payout already confirmed, payoutId='{}'", payoutId);
+                    payoutStepService.checkCompleted(payoutId, PayoutStepType.COMMIT);
+                    return null;
+                } else if (payout.getStatus() != PayoutStatus.UNPAID) {
+                    throw new InvalidStateException(
+                            String.format("Invalid status for 'confirm' action, payoutId='%s', currentStatus='%s'",
+                                    payoutId, payout.getStatus())
+                    );
                 }
+                payoutStepService.checkNoPendingSteps(payoutId);
+                payoutDao.changeStatus(payoutId, PayoutStatus.CONFIRMED);
+                payoutEventService.save(payoutId);
+                payoutMetrics.transition(PayoutStatus.UNPAID, PayoutStatus.CONFIRMED);
+                event.setPayoutRows(1);
+                return payoutStepService.start(payoutId, PayoutStepType.COMMIT);
+            } catch (DaoException ex) {
+                throw new StorageException(String.format("Failed to confirm a payout, payoutId='%s'", payoutId), ex);
             }
-            log.info("Payout has been confirmed, payoutId='{}'", payoutId);
-        } catch (DaoException ex) {
-            throw new StorageException(String.format("Failed to confirm a payout, payoutId='%s'", payoutId), ex);
+        }));
+        if (commitStep == null) {
+            return;
         }
+        payoutMetrics.phase(CONFIRM, "step", () -> payoutStepService.execute(commitStep));
+        log.info("Payout has been confirmed, payoutId='{}'", payoutId);
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
     public void cancel(String payoutId, String details) {
+        var event = new PayoutOperationEvent(CANCEL, payoutId);
+        event.record(() -> payoutMetrics.operation(CANCEL, () -> cancelPayout(event, payoutId, details)));
+    }
+
+    private void cancelPayout(PayoutOperationEvent event, String payoutId, String details) {
         log.info("Trying to cancel a payout, payoutId='{}'", payoutId);
-        try {
-            var payout = getForUpdate(payoutId);
-            if (payout.getStatus() == PayoutStatus.CANCELLED) {
-                log.info("Payout already cancelled, payoutId='{}'", payoutId);
-                return;
-            }
-            payoutDao.changeStatus(payoutId, PayoutStatus.CANCELLED, details);
-            if (payout.getStatus() == PayoutStatus.UNPAID) {
-                shumwayService.rollback(payoutId);
-            } else {
-                throw new InvalidStateException(String.format("Invalid status for 'cancel' action, " +
-                        "payoutId='%s', currentStatus='%s'", payoutId, payout.getStatus()));
+        var rollbackStep = payoutMetrics.phase(CANCEL, "persist", () -> transactionTemplate.execute(status -> {
+            try {
+                var payout = getForUpdate(payoutId);
+                if (payout.getStatus() == PayoutStatus.CANCELLED) {
+                    log.info("Payout already cancelled, payoutId='{}'", payoutId);
+                    payoutStepService.checkCompleted(payoutId, PayoutStepType.ROLLBACK);
+                    return null;
+                } else if (payout.getStatus() != PayoutStatus.UNPAID) {
+                    throw new InvalidStateException(String.format("Invalid status for 'cancel' action, " +
+                            "payoutId='%s', currentStatus='%s'", payoutId, payout.getStatus()));
+                }
+                payoutStepService.checkNoPendingSteps(payoutId);
+                payoutDao.changeStatus(payoutId, PayoutStatus.CANCELLED, details);
+                payoutEventService.save(payoutId);
+                payoutMetrics.transition(PayoutStatus.UNPAID, PayoutStatus.CANCELLED);
+                event.setPayoutRows(1);
+                return payoutStepService.start(payoutId, PayoutStepType.ROLLBACK);
+            } catch (DaoException ex) {
+                throw new StorageException(String.format("Failed to cancel a payout, payoutId='%s'", payoutId), ex);
             }
-            log.info("Payout has been cancelled, payoutId='{}'", payoutId);
-        } catch (DaoException ex) {
-            throw new StorageException(String.format("Failed to cancel a payout, payoutId='%s'", payoutId), ex);
+        }));
+        if (rollbackStep == null) {
+            return;
         }
+        payoutMetrics.phase(CANCEL, "step", () -> payoutStepService.execute(rollbackStep));
+        log.info("Payout has been cancelled, payoutId='{}'", payoutId);
     }
 
     private void validatePayoutId(String payoutId) {
@@ -203,33 +284,50 @@ public class PayoutService {
         }
     }
 
-    private PayoutToolInfo getPayoutToolInfo(
-            String payoutToolId,
-            Shop shop,
-            Party party) {
-        var contractId = shop.getContractId();
-        var contract = party.getContracts().get(contractId);
-        if (contract == null) {
-            throw new NotFoundException(String.format("Contract not found, contractId='%s'", contractId));
-        }
-        return contract.getPayoutTools().stream()
-                .filter(p -> p.getId().equals(payoutToolId))
-                .findAny()
-                .map(PayoutTool::getPayoutToolInfo)
-                .orElseThrow(() ->
-                        new NotFoundException(String.format("PayoutTool not found, payoutToolId='%s'", payoutToolId)));
-    }
-
-    private void validateAccount(String shopId, String payoutId, Party party, PostingPlanLog postingPlanLog) {
-        var accountId = party.getShops().get(shopId).getAccount().getSettlement();
-        var account = postingPlanLog.getAffectedAccounts().get(accountId);
+    void validateAccount(
+            PartyShop shop,
+            PayoutStep holdStep,
+            List<CashFlowPosting> cashFlowPostings,
+            PostingPlanLog postingPlanLog) {
+        var accountId = shop.getSettlementAccountId();
+        var account = accountId != null ? postingPlanLog.getAffectedAccounts().get(accountId) : null;
         if (account == null || account.getMinAvailableAmount() < 0) {
-            shumwayService.rollback(payoutId);
+            if (!payoutStepService.discardHold(
+                    holdStep, cashFlowPostings, "Invalid available amount in shop account")) {
+                payoutStepService.rollbackHold(holdStep.getPayoutId());
+            }
             throw new InsufficientFundsException(
                     String.format("Invalid available amount in shop account, account='%s'", account));
         }
     }
 
+    private Payout buildPayout(
+            String payoutId,
+            LocalDateTime createdAt,
+            String partyId,
+            String shopId,
+            String payoutToolId,
+            long amount,
+            long fee,
+            String symbolicCode,
+            dev.vality.payout.manager.domain.enums.PayoutToolInfo payoutToolInfo,
+            String walletId) {
+        var payout = new Payout();
+        payout.setSequenceId(0);
+        payout.setPayoutId(payoutId);
+        payout.setCreatedAt(createdAt);
+        payout.setPartyId(partyId);
+        payout.setShopId(shopId);
+        payout.setStatus(PayoutStatus.UNPAID);
+        payout.setPayoutToolId(payoutToolId);
+        payout.setAmount(amount);
+        payout.setFee(fee);
+        payout.setCurrencyCode(symbolicCode);
+        payout.setPayoutToolInfo(payoutToolInfo);
+        payout.setWalletId(walletId);
+        return payout;
+    }
+
     private Payout getForUpdate(String payoutId) {
         log.info("Trying to get a Payout, payoutId='{}'", payoutId);
         try {
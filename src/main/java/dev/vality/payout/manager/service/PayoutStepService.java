@@ -0,0 +1,345 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.base.InvalidRequest;
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.dao.CashFlowPostingDao;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.dao.PayoutStepDao;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.enums.PayoutToolInfo;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
+import dev.vality.payout.manager.exception.AccounterException;
+import dev.vality.payout.manager.exception.InvalidStateException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static dev.vality.payout.manager.service.PayoutMetrics.STEP;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayoutStepService {
+
+    private final PayoutStepDao payoutStepDao;
+    private final PayoutDao payoutDao;
+    private final CashFlowPostingDao cashFlowPostingDao;
+    private final ShumwayService shumwayService;
+    private final FistfulService fistfulService;
+    private final PayoutEventService payoutEventService;
+    private final PayoutMetrics payoutMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payout.step.lease}")
+    private long lease;
+
+    @Value("${payout.step.maxAttempts}")
+    private int maxAttempts;
+
+    @Value("${payout.step.backoff.initialInterval}")
+    private long initialInterval;
+
+    @Value("${payout.step.backoff.maxInterval}")
+    private long maxInterval;
+
+    @Value("${payout.step.worker.batchSize}")
+    private int batchSize;
+
+    public PayoutStep start(String payoutId, PayoutStepType type) {
+        log.info("Trying to start a payout step, payoutId='{}', type='{}'", payoutId, type);
+        try {
+            var payoutStep = buildPayoutStep(payoutId, type, LocalDateTime.now(ZoneOffset.UTC));
+            payoutStep.setId(payoutStepDao.save(payoutStep));
+            return payoutStep;
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to save a payout step, payoutId='%s', type='%s'", payoutId, type), ex);
+        }
+    }
+
+    public List<PayoutStep> startAll(List<String> payoutIds, PayoutStepType type) {
+        log.info("Trying to start payout steps, payoutIds='{}', type='{}'", payoutIds.size(), type);
+        try {
+            var now = LocalDateTime.now(ZoneOffset.UTC);
+            return payoutStepDao.saveAll(payoutIds.stream()
+                    .map(payoutId -> buildPayoutStep(payoutId, type, now))
+                    .toList());
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to save payout steps, payoutIds='%d', type='%s'", payoutIds.size(), type),
+                    ex);
+        }
+    }
+
+    public void checkNoPendingSteps(String payoutId) {
+        try {
+            List<PayoutStep> pendingSteps = payoutStepDao.getPendingByPayoutId(payoutId);
+            if (!pendingSteps.isEmpty()) {
+                throw new InvalidStateException(
+                        String.format("Payout has pending steps, payoutId='%s', steps='%s'",
+                                payoutId, pendingSteps.stream().map(PayoutStep::getType).toList()));
+            }
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to get pending payout steps, payoutId='%s'", payoutId), ex);
+        }
+    }
+
+    public void checkCompleted(String payoutId, PayoutStepType type) {
+        PayoutStep step;
+        try {
+            step = payoutStepDao.getLast(payoutId, type);
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to get a payout step, payoutId='%s', type='%s'", payoutId, type), ex);
+        }
+        if (step == null || step.getStatus() == PayoutStepStatus.SUCCEEDED) {
+            return;
+        }
+        if (step.getStatus() == PayoutStepStatus.PENDING) {
+            throw new AccounterException(
+                    String.format("Payout step is pending, payoutId='%s', type='%s', attempt='%d', error='%s'",
+                            payoutId, type, step.getAttempt(), step.getError()));
+        }
+        throw new InvalidStateException(
+                String.format("Payout step has failed, payoutId='%s', type='%s', error='%s'",
+                        payoutId, type, step.getError()));
+    }
+
+    public List<PayoutStep> claim() {
+        try {
+            var now = LocalDateTime.now(ZoneOffset.UTC);
+            return payoutStepDao.claimPending(batchSize, now, now.plus(lease, ChronoUnit.MILLIS));
+        } catch (DaoException ex) {
+            throw new StorageException("Failed to claim pending payout steps", ex);
+        }
+    }
+
+    public boolean succeed(PayoutStep step) {
+        try {
+            boolean succeeded = payoutStepDao.markSucceeded(step.getId());
+            log.info("Payout step has been completed, payoutId='{}', type='{}', succeeded='{}'",
+                    step.getPayoutId(), step.getType(), succeeded);
+            return succeeded;
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to complete a payout step, payoutId='%s', type='%s'",
+                            step.getPayoutId(), step.getType()), ex);
+        }
+    }
+
+    public void execute(PayoutStep step) {
+        log.info("Trying to execute a payout step, payoutId='{}', type='{}', attempt='{}'",
+                step.getPayoutId(), step.getType(), step.getAttempt());
+        if (step.getType() == PayoutStepType.HOLD) {
+            compensateHold(step, "Hold has not been completed in time");
+            return;
+        }
+        execute(step, () -> {
+            switch (step.getType()) {
+                case COMMIT -> commit(step.getPayoutId());
+                case ROLLBACK -> shumwayService.rollback(step.getPayoutId());
+                case REVERT -> shumwayService.revert(step.getPayoutId());
+            }
+        });
+    }
+
+    public void execute(PayoutStep step, PayoutWithCashFlowPostings payout) {
+        log.info("Trying to execute a payout step, payoutId='{}', type='{}', attempt='{}'",
+                step.getPayoutId(), step.getType(), step.getAttempt());
+        var cashFlowPostings = payout.getCashFlowPostings();
+        execute(step, () -> {
+            switch (step.getType()) {
+                case COMMIT -> {
+                    shumwayService.commit(step.getPayoutId(), cashFlowPostings);
+                    deposit(payout.getPayout());
+                }
+                case ROLLBACK -> shumwayService.rollback(step.getPayoutId(), cashFlowPostings);
+                case REVERT -> shumwayService.revert(step.getPayoutId(), cashFlowPostings);
+            }
+        });
+    }
+
+    public boolean renew(PayoutStep step) {
+        try {
+            var leaseUntil = LocalDateTime.now(ZoneOffset.UTC).plus(lease, ChronoUnit.MILLIS);
+            boolean renewed = payoutStepDao.renewLease(step.getId(), leaseUntil);
+            if (!renewed) {
+                log.warn("Payout step is no longer pending, payoutId='{}', type='{}'",
+                        step.getPayoutId(), step.getType());
+            }
+            return renewed;
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to renew a payout step, payoutId='%s', type='%s'",
+                            step.getPayoutId(), step.getType()), ex);
+        }
+    }
+
+    public boolean compensateHold(PayoutStep holdStep, String reason) {
+        var rollbackStep = failHold(holdStep, reason);
+        if (rollbackStep == null) {
+            return false;
+        }
+        executeQuietly(rollbackStep);
+        return true;
+    }
+
+    public boolean discardHold(PayoutStep holdStep, List<CashFlowPosting> cashFlowPostings, String reason) {
+        var payoutId = holdStep.getPayoutId();
+        var rollbackStep = failHold(holdStep, reason);
+        if (rollbackStep == null) {
+            return false;
+        }
+        try {
+            execute(rollbackStep, () -> shumwayService.rollback(payoutId, cashFlowPostings));
+        } catch (Exception ex) {
+            log.warn("Payout has been left failed until the step worker rolls it back, payoutId='{}'",
+                    payoutId, ex);
+            return true;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> remove(payoutId));
+            log.info("Payout has been removed after a failed hold, payoutId='{}'", payoutId);
+        } catch (StorageException ex) {
+            log.warn("Payout has been left failed after a failed hold, payoutId='{}'", payoutId, ex);
+        }
+        return true;
+    }
+
+    public void rollbackHold(String payoutId) {
+        log.warn("Trying to roll back a payout hold made after compensation, payoutId='{}'", payoutId);
+        executeQuietly(start(payoutId, PayoutStepType.ROLLBACK));
+    }
+
+    private PayoutStep failHold(PayoutStep holdStep, String reason) {
+        var payoutId = holdStep.getPayoutId();
+        log.warn("Trying to compensate a payout hold, payoutId='{}', reason='{}'", payoutId, reason);
+        return transactionTemplate.execute(status -> {
+            try {
+                if (!payoutStepDao.markFailed(holdStep.getId(), reason)) {
+                    log.info("Payout hold has already been completed, payoutId='{}'", payoutId);
+                    return null;
+                }
+                payoutDao.changeStatus(payoutId, PayoutStatus.FAILED);
+                payoutMetrics.transition(PayoutStatus.UNPAID, PayoutStatus.FAILED);
+            } catch (DaoException ex) {
+                throw new StorageException(
+                        String.format("Failed to compensate a payout hold, payoutId='%s'", payoutId), ex);
+            }
+            return start(payoutId, PayoutStepType.ROLLBACK);
+        });
+    }
+
+    private void remove(String payoutId) {
+        try {
+            payoutStepDao.removeByPayoutId(payoutId);
+            cashFlowPostingDao.removeByPayoutId(payoutId);
+            payoutDao.remove(payoutId);
+        } catch (DaoException ex) {
+            throw new StorageException(String.format("Failed to remove a payout, payoutId='%s'", payoutId), ex);
+        }
+    }
+
+    private void execute(PayoutStep step, Runnable operation) {
+        try {
+            payoutMetrics.phase(STEP, step.getType().getLiteral(), operation);
+        } catch (RuntimeException ex) {
+            fail(step, ex);
+            throw ex;
+        }
+        succeed(step);
+    }
+
+    private void commit(String payoutId) {
+        shumwayService.commit(payoutId);
+        deposit(payoutDao.get(payoutId));
+    }
+
+    private void deposit(Payout payout) {
+        var payoutId = payout.getPayoutId();
+        if (payout.getStatus() != PayoutStatus.CONFIRMED
+                || payout.getPayoutToolInfo() != PayoutToolInfo.WALLET_INFO) {
+            return;
+        }
+        try {
+            fistfulService.createDeposit(payoutId, payout.getWalletId(),
+                    payout.getAmount(), payout.getCurrencyCode());
+        } catch (Exception ex) {
+            log.warn("Failed to confirm then fistfulService.createDeposit", ex);
+            var revertStep = transactionTemplate.execute(status -> {
+                try {
+                    payoutDao.changeStatus(payoutId, PayoutStatus.FAILED);
+                    payoutEventService.save(payoutId);
+                    payoutMetrics.transition(PayoutStatus.CONFIRMED, PayoutStatus.FAILED);
+                } catch (DaoException daoEx) {
+                    throw new StorageException(
+                            String.format("Failed to fail a payout, payoutId='%s'", payoutId), daoEx);
+                }
+                return start(payoutId, PayoutStepType.REVERT);
+            });
+            executeQuietly(revertStep);
+        }
+    }
+
+    private PayoutStep buildPayoutStep(String payoutId, PayoutStepType type, LocalDateTime now) {
+        var payoutStep = new PayoutStep();
+        payoutStep.setPayoutId(payoutId);
+        payoutStep.setType(type);
+        payoutStep.setStatus(PayoutStepStatus.PENDING);
+        payoutStep.setAttempt(1);
+        payoutStep.setCreatedAt(now);
+        payoutStep.setNextAttemptAt(now.plus(lease, ChronoUnit.MILLIS));
+        return payoutStep;
+    }
+
+    private void executeQuietly(PayoutStep step) {
+        try {
+            execute(step);
+        } catch (Exception ex) {
+            log.warn("Payout step has been left to the step worker, payoutId='{}', type='{}'",
+                    step.getPayoutId(), step.getType(), ex);
+        }
+    }
+
+    private void fail(PayoutStep step, Exception ex) {
+        try {
+            if (isRetryable(ex) && step.getAttempt() < maxAttempts) {
+                var nextAttemptAt = LocalDateTime.now(ZoneOffset.UTC)
+                        .plus(backoff(step.getAttempt()), ChronoUnit.MILLIS);
+                payoutStepDao.scheduleRetry(step.getId(), nextAttemptAt, ex.getMessage());
+                log.warn("Payout step has been scheduled for retry, payoutId='{}', type='{}', nextAttemptAt='{}'",
+                        step.getPayoutId(), step.getType(), nextAttemptAt);
+            } else {
+                payoutStepDao.markFailed(step.getId(), ex.getMessage());
+                log.error("Payout step has failed, inconsistent state of postings in shumway, " +
+                                "payoutId='{}', type='{}', attempt='{}'",
+                        step.getPayoutId(), step.getType(), step.getAttempt());
+            }
+        } catch (DaoException daoEx) {
+            log.error("Failed to save a payout step failure, payoutId='{}', type='{}'",
+                    step.getPayoutId(), step.getType(), daoEx);
+        }
+    }
+
+    private boolean isRetryable(Exception ex) {
+        return !(ex.getCause() instanceof InvalidRequest);
+    }
+
+    private long backoff(int attempt) {
+        return Math.min(maxInterval, initialInterval << Math.min(attempt - 1, 30));
+    }
+}
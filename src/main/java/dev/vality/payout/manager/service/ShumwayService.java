@@ -4,6 +4,7 @@ import dev.vality.damsel.accounter.*;
 import dev.vality.damsel.base.InvalidRequest;
 import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.exception.AccounterException;
+import dev.vality.payout.manager.jfr.ShumwayPlanEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.thrift.TException;
@@ -14,6 +15,8 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static dev.vality.payout.manager.util.ThriftUtil.toPostingBatch;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -29,7 +32,7 @@ public class ShumwayService {
         try {
             var postingPlanId = toPlanId(payoutId);
             var postingBatch = toPostingBatch(cashFlowPostings);
-            var postingPlanLog = hold(postingPlanId, postingBatch);
+            var postingPlanLog = hold(payoutId, postingPlanId, postingBatch);
             log.info("Payout has been held, payoutId='{}', postingBatch='{}', postingPlanLog='{}'",
                     payoutId, postingBatch, postingPlanLog);
             return postingPlanLog;
@@ -38,69 +41,105 @@ public class ShumwayService {
         }
     }
 
-    private PostingPlanLog hold(String postingPlanId, PostingBatch postingBatch) throws TException {
+    private PostingPlanLog hold(
+            String payoutId,
+            String postingPlanId,
+            PostingBatch postingBatch) throws TException {
+        var event = new ShumwayPlanEvent("hold", payoutId, postingPlanId, 1, postingBatch.getPostingsSize());
+        event.begin();
         try {
             log.debug("Start hold operation, postingPlanId='{}', postingBatch='{}'", postingPlanId, postingBatch);
             return retryTemplate.execute(
                     context -> shumwayClient.hold(new PostingPlanChange(postingPlanId, postingBatch)));
+        } catch (TException | RuntimeException ex) {
+            event.fail(ex);
+            throw ex;
         } finally {
+            event.commit();
             log.debug("End hold operation, postingPlanId='{}', postingBatch='{}'", postingPlanId, postingBatch);
         }
     }
 
     public void commit(String payoutId) {
+        commit(payoutId, cashFlowPostingService.getCashFlowPostings(payoutId));
+    }
+
+    public void commit(String payoutId, List<CashFlowPosting> cashFlowPostings) {
         log.debug("Trying to commit payout postings, payoutId='{}'", payoutId);
-        var cashFlowPostings = cashFlowPostingService.getCashFlowPostings(payoutId);
         try {
             var postingPlanId = toPlanId(payoutId);
             var postingBatches = List.of(toPostingBatch(cashFlowPostings));
-            commit(postingPlanId, postingBatches);
+            commitPlan(payoutId, postingPlanId, postingBatches);
             log.info("Payout has been committed, payoutId='{}', postingBatches='{}'", payoutId, postingBatches);
         } catch (Exception ex) {
             throw new AccounterException(String.format("Failed to commit payout, payoutId='%s'", payoutId), ex);
         }
     }
 
-    public void commit(String postingPlanId, List<PostingBatch> postingBatches) throws TException {
+    private void commitPlan(
+            String payoutId,
+            String postingPlanId,
+            List<PostingBatch> postingBatches) throws TException {
+        var event = planEvent("commit", payoutId, postingPlanId, postingBatches);
+        event.begin();
         try {
             log.debug("Start commit operation, postingPlanId='{}', postingBatches='{}'",
                     postingPlanId, postingBatches);
             retryTemplate.execute(
                     context -> shumwayClient.commitPlan(new PostingPlan(postingPlanId, postingBatches)));
+        } catch (TException | RuntimeException ex) {
+            event.fail(ex);
+            throw ex;
         } finally {
+            event.commit();
             log.debug("End commit operation, postingPlanId='{}', postingBatches='{}'",
                     postingPlanId, postingBatches);
         }
     }
 
     public void rollback(String payoutId) {
+        rollback(payoutId, cashFlowPostingService.getCashFlowPostings(payoutId));
+    }
+
+    public void rollback(String payoutId, List<CashFlowPosting> cashFlowPostings) {
         log.debug("Trying to rollback payout postings, payoutId='{}'", payoutId);
-        var cashFlowPostings = cashFlowPostingService.getCashFlowPostings(payoutId);
         try {
             var postingPlanId = toPlanId(payoutId);
             var postingBatches = List.of(toPostingBatch(cashFlowPostings));
-            rollback(postingPlanId, postingBatches);
+            rollbackPlan(payoutId, postingPlanId, postingBatches);
             log.info("Payout has been rolled back, payoutId='{}', postingBatches='{}'", payoutId, postingBatches);
         } catch (Exception ex) {
             throw new AccounterException(String.format("Failed to rollback payout, payoutId='%s'", payoutId), ex);
         }
     }
 
-    public void rollback(String postingPlanId, List<PostingBatch> postingBatches) throws TException {
+    private void rollbackPlan(
+            String payoutId,
+            String postingPlanId,
+            List<PostingBatch> postingBatches) throws TException {
+        var event = planEvent("rollback", payoutId, postingPlanId, postingBatches);
+        event.begin();
         try {
             log.debug("Start rollback operation, postingPlanId='{}', postingBatches='{}'",
                     postingPlanId, postingBatches);
             retryTemplate.execute(
                     context -> shumwayClient.rollbackPlan(new PostingPlan(postingPlanId, postingBatches)));
+        } catch (TException | RuntimeException ex) {
+            event.fail(ex);
+            throw ex;
         } finally {
+            event.commit();
             log.debug("End rollback operation, postingPlanId='{}', postingBatches='{}'",
                     postingPlanId, postingBatches);
         }
     }
 
     public void revert(String payoutId) {
+        revert(payoutId, cashFlowPostingService.getCashFlowPostings(payoutId));
+    }
+
+    public void revert(String payoutId, List<CashFlowPosting> cashFlowPostings) {
         log.debug("Trying to revert payout, payoutId='{}'", payoutId);
-        var cashFlowPostings = cashFlowPostingService.getCashFlowPostings(payoutId);
         try {
             var revertPlanId = toRevertPlanId(payoutId);
             var revertPostingBatch = revertPostingBatch(
@@ -115,7 +154,7 @@ public class ShumwayService {
                         revertPosting.setDescription("Revert payout: " + payoutId);
                         return revertPosting;
                     });
-            revert(revertPlanId, revertPostingBatch);
+            revert(payoutId, revertPlanId, revertPostingBatch);
             log.info("Payout has been reverted, " +
                             "payoutId='{}', revertPostingBatch='{}'",
                     payoutId, revertPostingBatch);
@@ -124,14 +163,14 @@ public class ShumwayService {
         }
     }
 
-    private void revert(String revertPlanId, PostingBatch revertPostingBatch) throws Exception {
+    private void revert(String payoutId, String revertPlanId, PostingBatch revertPostingBatch) throws Exception {
         try {
             log.debug("Start revert operation, revertPlanId='{}', revertPostingBatch='{}'",
                     revertPlanId, revertPostingBatch);
-            hold(revertPlanId, revertPostingBatch);
-            commit(revertPlanId, List.of(revertPostingBatch));
+            hold(payoutId, revertPlanId, revertPostingBatch);
+            commitPlan(payoutId, revertPlanId, List.of(revertPostingBatch));
         } catch (Exception ex) {
-            processRollbackRevertWhenError(revertPlanId, List.of(revertPostingBatch), ex);
+            processRollbackRevertWhenError(payoutId, revertPlanId, List.of(revertPostingBatch), ex);
         } finally {
             log.debug("End revert operation, revertPlanId='{}', revertPostingBatch='{}'",
                     revertPlanId, revertPostingBatch);
@@ -149,11 +188,12 @@ public class ShumwayService {
     }
 
     private void processRollbackRevertWhenError(
+            String payoutId,
             String revertPlanId,
             List<PostingBatch> revertPostingBatches,
             Exception parent) throws Exception {
         try {
-            rollback(revertPlanId, revertPostingBatches);
+            rollbackPlan(payoutId, revertPlanId, revertPostingBatches);
         } catch (Exception ex) {
             if (!(ex instanceof InvalidRequest)) {
                 log.error("Inconsistent state of postings in shumway, revertPlanId='{}', revertPostingBatches='{}'",
@@ -170,31 +210,13 @@ public class ShumwayService {
         throw parent;
     }
 
-    private PostingBatch toPostingBatch(List<CashFlowPosting> postings) {
-        return new PostingBatch(
-                1L,
-                postings.stream()
-                        .map(this::toPosting)
-                        .collect(Collectors.toList()));
-    }
-
-    private Posting toPosting(CashFlowPosting cashFlowPosting) {
-        var posting = new Posting();
-        posting.setFromId(cashFlowPosting.getFromAccountId());
-        posting.setToId(cashFlowPosting.getToAccountId());
-        posting.setAmount(cashFlowPosting.getAmount());
-        posting.setCurrencySymCode(cashFlowPosting.getCurrencyCode());
-        posting.setDescription(buildPostingDescription(
-                cashFlowPosting.getPayoutId(),
-                cashFlowPosting.getDescription()));
-        return posting;
-    }
-
-    private String buildPostingDescription(String payoutId, String description) {
-        if (description == null) {
-            return "PAYOUT-" + payoutId;
-        }
-        return description;
+    private ShumwayPlanEvent planEvent(
+            String operation,
+            String payoutId,
+            String postingPlanId,
+            List<PostingBatch> postingBatches) {
+        return new ShumwayPlanEvent(operation, payoutId, postingPlanId, postingBatches.size(),
+                postingBatches.stream().mapToInt(PostingBatch::getPostingsSize).sum());
     }
 
     private String toPlanId(String payoutId) {
@@ -0,0 +1,62 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SourceEventLaneService {
+
+    private final SourceHandlerService sourceHandlerService;
+    @Qualifier("sourceLaneExecutor")
+    private final Executor sourceLaneExecutor;
+
+    @Value("${kafka.topic.source.consume.lanes}")
+    private int lanes;
+
+    public void handleEvents(List<MachineEvent> machineEvents, Collection<SourceOffset> offsets) {
+        if (lanes <= 1 || machineEvents.size() <= 1) {
+            sourceHandlerService.handleEvents(machineEvents, offsets);
+            return;
+        }
+        var futures = split(machineEvents).stream()
+                .filter(lane -> !lane.isEmpty())
+                .map(lane -> CompletableFuture.runAsync(
+                        () -> sourceHandlerService.handleEvents(lane), sourceLaneExecutor))
+                .toArray(CompletableFuture[]::new);
+        log.info("Source events have been split into lanes, events={}, lanes={}", machineEvents.size(), futures.length);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+        sourceHandlerService.saveOffsets(offsets);
+    }
+
+    private List<List<MachineEvent>> split(List<MachineEvent> machineEvents) {
+        List<List<MachineEvent>> eventLanes = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            eventLanes.add(new ArrayList<>());
+        }
+        for (MachineEvent event : machineEvents) {
+            eventLanes.get(Math.floorMod(event.getSourceId().hashCode(), lanes)).add(event);
+        }
+        return eventLanes;
+    }
+}
@@ -0,0 +1,178 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.dao.DaoException;
+import dev.vality.kafka.common.exception.KafkaProduceException;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.machinegun.eventsink.SinkEvent;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.sink.common.exception.ParseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SourceEventRetryService {
+
+    private final SourceEventLaneService sourceEventLaneService;
+    private final SourceHandlerService sourceHandlerService;
+    private final KafkaTemplate<String, SinkEvent> sourceDeadLetterKafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.topic.source.consume.retry.max-attempts}")
+    private int maxAttempts;
+    @Value("${kafka.topic.source.consume.retry.initial-interval-ms}")
+    private long initialInterval;
+    @Value("${kafka.topic.source.consume.retry.multiplier}")
+    private double multiplier;
+    @Value("${kafka.topic.source.consume.retry.max-interval-ms}")
+    private long maxInterval;
+    @Value("${kafka.topic.source.consume.retry.max-duration-ms}")
+    private long maxDuration;
+    @Value("${kafka.topic.source-dlt.name}")
+    private String deadLetterTopicName;
+
+    public void handleRecords(List<ConsumerRecord<String, SinkEvent>> records) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDuration);
+        try {
+            sourceEventLaneService.handleEvents(
+                    records.stream()
+                            .map(record -> record.value().getEvent())
+                            .collect(Collectors.toList()),
+                    offsets(records));
+        } catch (RuntimeException ex) {
+            if (isStorageFailure(ex)) {
+                throw ex;
+            }
+            log.warn("Source events batch has failed, falling back to per-record handling, size={}",
+                    records.size(), ex);
+            handleOneByOne(records, deadline);
+        }
+    }
+
+    private void handleOneByOne(
+            List<ConsumerRecord<String, SinkEvent>> records,
+            long deadline) throws InterruptedException {
+        Set<String> deadLetteredSourceIds = new HashSet<>();
+        for (ConsumerRecord<String, SinkEvent> record : records) {
+            MachineEvent event = record.value().getEvent();
+            if (deadLetteredSourceIds.contains(event.getSourceId())) {
+                deadLetter(record, "Preceding event of the source has been dead-lettered");
+                continue;
+            }
+            if (!handleWithRetry(record, deadline)) {
+                deadLetteredSourceIds.add(event.getSourceId());
+            }
+        }
+    }
+
+    private boolean handleWithRetry(
+            ConsumerRecord<String, SinkEvent> record,
+            long deadline) throws InterruptedException {
+        MachineEvent event = record.value().getEvent();
+        long startTime = System.nanoTime();
+        long interval = initialInterval;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sourceEventLaneService.handleEvents(List.of(event), List.of(offset(record)));
+                recordLag(startTime, "recovered");
+                return true;
+            } catch (RuntimeException ex) {
+                if (isDeterministic(ex)) {
+                    log.error("Source event cannot be handled, sourceId='{}', eventId='{}', attempts={}",
+                            event.getSourceId(), event.getEventId(), attempt, ex);
+                    deadLetter(record, String.valueOf(ex.getMessage()));
+                    recordLag(startTime, "dead_lettered");
+                    return false;
+                }
+                if (isStorageFailure(ex)
+                        || attempt >= maxAttempts
+                        || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval) > deadline) {
+                    log.error("Source event has failed, seeking back, sourceId='{}', eventId='{}', attempts={}",
+                            event.getSourceId(), event.getEventId(), attempt);
+                    recordLag(startTime, "failed");
+                    throw ex;
+                }
+                log.warn("Source event has failed, retrying, sourceId='{}', eventId='{}', attempt={}, backoffMs={}",
+                        event.getSourceId(), event.getEventId(), attempt, interval, ex);
+                meterRegistry.counter("source.events.retries").increment();
+                Thread.sleep(interval);
+                interval = Math.min((long) (interval * multiplier), maxInterval);
+            }
+        }
+    }
+
+    private boolean isDeterministic(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ParseException || cause instanceof NotFoundException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isStorageFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StorageException || cause instanceof DaoException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deadLetter(ConsumerRecord<String, SinkEvent> record, String reason) throws InterruptedException {
+        var deadLetterRecord = new ProducerRecord<>(deadLetterTopicName, record.key(), record.value());
+        deadLetterRecord.headers()
+                .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(4).putInt(record.partition()).array())
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(8).putLong(record.offset()).array())
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, reason.getBytes(StandardCharsets.UTF_8));
+        try {
+            sourceDeadLetterKafkaTemplate.send(deadLetterRecord).get();
+        } catch (ExecutionException ex) {
+            throw new KafkaProduceException(ex);
+        }
+        sourceHandlerService.saveOffsets(List.of(offset(record)));
+        meterRegistry.counter("source.events.dead_lettered").increment();
+        log.warn("Source event has been sent to dead letter topic, topicName={}, partition={}, offset={}",
+                deadLetterTopicName, record.partition(), record.offset());
+    }
+
+    private List<SourceOffset> offsets(List<ConsumerRecord<String, SinkEvent>> records) {
+        Map<TopicPartition, SourceOffset> offsets = new LinkedHashMap<>();
+        for (ConsumerRecord<String, SinkEvent> record : records) {
+            offsets.put(new TopicPartition(record.topic(), record.partition()), offset(record));
+        }
+        return List.copyOf(offsets.values());
+    }
+
+    private SourceOffset offset(ConsumerRecord<String, SinkEvent> record) {
+        return new SourceOffset(record.topic(), record.partition(), record.offset() + 1);
+    }
+
+    private void recordLag(long startTime, String outcome) {
+        meterRegistry.timer("source.events.retry.lag", "outcome", outcome)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+}
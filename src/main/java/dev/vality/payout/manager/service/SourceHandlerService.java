@@ -1,33 +1,214 @@
 package dev.vality.payout.manager.service;
 
+import dev.vality.dao.DaoException;
+import dev.vality.fistful.source.Change;
+import dev.vality.fistful.source.TimestampedChange;
 import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.payout.manager.dao.SourceDao;
+import dev.vality.payout.manager.dao.SourceOffsetDao;
+import dev.vality.payout.manager.domain.tables.pojos.Source;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import dev.vality.payout.manager.exception.StorageException;
 import dev.vality.payout.manager.handler.SourceHandler;
+import dev.vality.payout.manager.jfr.SourceEventBatchEvent;
 import dev.vality.payout.manager.serde.SourceChangeMachineEventParser;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SourceHandlerService {
 
     private final SourceChangeMachineEventParser parser;
-    private final List<SourceHandler> sourceHandlers;
+    private final SourceDao sourceDao;
+    private final SourceOffsetDao sourceOffsetDao;
+    private final SourceRegistry sourceRegistry;
+    private final MeterRegistry meterRegistry;
+    private final HandlerDispatch[] dispatchTable;
+
+    public SourceHandlerService(
+            SourceChangeMachineEventParser parser,
+            List<SourceHandler> sourceHandlers,
+            SourceDao sourceDao,
+            SourceOffsetDao sourceOffsetDao,
+            SourceRegistry sourceRegistry,
+            MeterRegistry meterRegistry) {
+        this.parser = parser;
+        this.sourceDao = sourceDao;
+        this.sourceOffsetDao = sourceOffsetDao;
+        this.sourceRegistry = sourceRegistry;
+        this.meterRegistry = meterRegistry;
+        this.dispatchTable = buildDispatchTable(sourceHandlers, meterRegistry);
+    }
 
     @Transactional(propagation = Propagation.REQUIRED)
     public void handleEvents(List<MachineEvent> machineEvents) {
-        machineEvents.forEach(this::handleIfAccept);
+        handleEvents(machineEvents, List.of());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void handleEvents(List<MachineEvent> machineEvents, Collection<SourceOffset> offsets) {
+        var batchEvent = new SourceEventBatchEvent(machineEvents.size(), offsets.size());
+        batchEvent.record(() -> handleEvents(batchEvent, machineEvents, offsets));
+    }
+
+    private void handleEvents(
+            SourceEventBatchEvent batchEvent,
+            List<MachineEvent> machineEvents,
+            Collection<SourceOffset> offsets) {
+        long start = System.nanoTime();
+        List<Map.Entry<MachineEvent, TimestampedChange>> changes = new ArrayList<>(machineEvents.size());
+        int skipped = 0;
+        for (MachineEvent event : machineEvents) {
+            if (isApplied(event, sourceRegistry.getLastEventId(event.getSourceId()))) {
+                skipped++;
+                continue;
+            }
+            var timestampedChange = parser.parse(event);
+            if (dispatch(timestampedChange) != null) {
+                changes.add(Map.entry(event, timestampedChange));
+            }
+        }
+        meterRegistry.counter("source.events.skipped").increment(skipped);
+        batchEvent.setSkipped(skipped);
+        batchEvent.setChanges(changes.size());
+        if (changes.isEmpty()) {
+            saveOffsets(offsets);
+            return;
+        }
+        Map<String, Source> changedSources = fold(changes);
+        batchEvent.setSources(changedSources.size());
+        try {
+            sourceDao.saveAll(changedSources.values());
+        } catch (DaoException ex) {
+            throw new StorageException(
+                    String.format("Failed to save sources, sources='%d'", changedSources.size()), ex);
+        }
+        changedSources.values().forEach(sourceRegistry::updateAfterCommit);
+        saveOffsets(offsets);
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.counter("source.events.processed").increment(changes.size());
+        meterRegistry.timer("source.events.batch").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Source events have been folded, events={}, sources={}, eventsPerSecond={}",
+                changes.size(), changedSources.size(), changes.size() * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void saveOffsets(Collection<SourceOffset> offsets) {
+        try {
+            sourceOffsetDao.saveAll(offsets);
+        } catch (DaoException ex) {
+            throw new StorageException(String.format("Failed to save source offsets, offsets='%s'", offsets), ex);
+        }
+    }
+
+    public List<SourceOffset> getOffsets(String topic) {
+        try {
+            return sourceOffsetDao.getByTopic(topic);
+        } catch (DaoException ex) {
+            throw new StorageException(String.format("Failed to get source offsets, topic='%s'", topic), ex);
+        }
     }
 
-    private void handleIfAccept(MachineEvent event) {
-        var timestampedChange = parser.parse(event);
-        sourceHandlers.stream()
-                .filter(handler -> handler.accept(timestampedChange))
-                .forEach(handler -> handler.handle(timestampedChange, event));
+    private Map<String, Source> fold(List<Map.Entry<MachineEvent, TimestampedChange>> changes) {
+        Set<String> sourceIds = new HashSet<>();
+        changes.forEach(change -> sourceIds.add(change.getKey().getSourceId()));
+        Map<String, Source> sources = new HashMap<>();
+        try {
+            sourceDao.getBySourceIds(sourceIds).forEach(source -> sources.put(source.getSourceId(), source));
+        } catch (DaoException ex) {
+            throw new StorageException(String.format("Failed to get sources, sources='%d'", sourceIds.size()), ex);
+        }
+        Map<String, Source> changedSources = new LinkedHashMap<>();
+        for (Map.Entry<MachineEvent, TimestampedChange> change : changes) {
+            MachineEvent event = change.getKey();
+            TimestampedChange timestampedChange = change.getValue();
+            HandlerDispatch dispatch = dispatch(timestampedChange);
+            Source current = sources.get(event.getSourceId());
+            if (current != null && isApplied(event, current.getLastEventId())) {
+                dispatch.skipped.increment();
+                continue;
+            }
+            Source source = dispatch.handle(timestampedChange, event, current);
+            source.setLastEventId(event.getEventId());
+            sources.put(event.getSourceId(), source);
+            changedSources.put(event.getSourceId(), source);
+        }
+        return changedSources;
+    }
+
+    private HandlerDispatch dispatch(TimestampedChange timestampedChange) {
+        Change._Fields changeType = timestampedChange.getChange().getSetField();
+        return changeType != null ? dispatchTable[changeType.getThriftFieldId()] : null;
+    }
+
+    private static HandlerDispatch[] buildDispatchTable(List<SourceHandler> handlers, MeterRegistry meterRegistry) {
+        int maxFieldId = Arrays.stream(Change._Fields.values())
+                .mapToInt(Change._Fields::getThriftFieldId)
+                .max()
+                .orElse(0);
+        HandlerDispatch[] dispatchTable = new HandlerDispatch[maxFieldId + 1];
+        for (SourceHandler handler : handlers) {
+            short fieldId = handler.getChangeType().getThriftFieldId();
+            if (dispatchTable[fieldId] != null) {
+                throw new IllegalStateException(String.format(
+                        "Source handler is already registered, changeType='%s'", handler.getChangeType()));
+            }
+            dispatchTable[fieldId] = new HandlerDispatch(handler, meterRegistry);
+        }
+        return dispatchTable;
+    }
+
+    private boolean isApplied(MachineEvent event, Long lastEventId) {
+        return lastEventId != null && event.getEventId() <= lastEventId;
+    }
+
+    private static final class HandlerDispatch {
+
+        private final SourceHandler handler;
+        private final Timer timer;
+        private final Counter handled;
+        private final Counter skipped;
+        private final Counter failed;
+
+        private HandlerDispatch(SourceHandler handler, MeterRegistry meterRegistry) {
+            String handlerName = handler.getClass().getSimpleName();
+            String changeType = handler.getChangeType().getFieldName();
+            this.handler = handler;
+            this.timer = Timer.builder("source.handler.duration")
+                    .tags("handler", handlerName, "changeType", changeType)
+                    .register(meterRegistry);
+            this.handled = counter(meterRegistry, handlerName, changeType, "handled");
+            this.skipped = counter(meterRegistry, handlerName, changeType, "skipped");
+            this.failed = counter(meterRegistry, handlerName, changeType, "failed");
+        }
+
+        private Source handle(TimestampedChange change, MachineEvent event, Source source) {
+            long start = System.nanoTime();
+            try {
+                Source result = handler.handle(change, event, source);
+                handled.increment();
+                return result;
+            } catch (RuntimeException ex) {
+                failed.increment();
+                throw ex;
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String handler, String changeType, String outcome) {
+            return Counter.builder("source.handler.events")
+                    .tags("handler", handler, "changeType", changeType, "outcome", outcome)
+                    .register(meterRegistry);
+        }
     }
 }
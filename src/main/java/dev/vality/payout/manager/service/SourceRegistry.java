@@ -0,0 +1,123 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.dao.DaoException;
+import dev.vality.payout.manager.dao.SourceDao;
+import dev.vality.payout.manager.domain.enums.SourceStatus;
+import dev.vality.payout.manager.domain.tables.pojos.Source;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.exception.StorageException;
+import dev.vality.payout.manager.model.SourceSelectionPolicy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SourceRegistry {
+
+    private final SourceDao sourceDao;
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<String, List<String>> authorizedSourceIds = Map.of();
+    private volatile boolean loaded;
+
+    @Value("${service.fistful.source.selectionPolicy}")
+    private SourceSelectionPolicy selectionPolicy;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.lock();
+        try {
+            List<Source> allSources = sourceDao.getAll();
+            allSources.forEach(source -> sources.merge(source.getSourceId(), new Source(source), this::newer));
+            rebuild();
+            loaded = true;
+            log.info("Source registry has been loaded, sources={}, authorized={}",
+                    sources.size(), authorizedSourceIds);
+        } catch (DaoException ex) {
+            throw new StorageException("Failed to load sources", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getAuthorizedSourceId(String currencyCode) {
+        if (!loaded) {
+            load();
+        }
+        List<String> sourceIds = authorizedSourceIds.getOrDefault(currencyCode, List.of());
+        if (sourceIds.isEmpty()) {
+            throw new NotFoundException(String.format("Source not found, currencyCode='%s'", currencyCode));
+        }
+        if (selectionPolicy == SourceSelectionPolicy.ROUND_ROBIN) {
+            int next = counters.computeIfAbsent(currencyCode, key -> new AtomicInteger()).getAndIncrement();
+            return sourceIds.get(Math.floorMod(next, sourceIds.size()));
+        }
+        return sourceIds.get(0);
+    }
+
+    public Long getLastEventId(String sourceId) {
+        Source source = sources.get(sourceId);
+        return source != null ? source.getLastEventId() : null;
+    }
+
+    public void updateAfterCommit(Source source) {
+        var snapshot = new Source(source);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(snapshot);
+            }
+        });
+    }
+
+    private void update(Source source) {
+        lock.lock();
+        try {
+            sources.put(source.getSourceId(), source);
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Source registry has been updated, sourceId={}, status={}, currencyCode={}",
+                source.getSourceId(), source.getStatus(), source.getCurrencyCode());
+    }
+
+    private Source newer(Source cached, Source loaded) {
+        if (cached.getLastEventId() != null
+                && (loaded.getLastEventId() == null || cached.getLastEventId() > loaded.getLastEventId())) {
+            return cached;
+        }
+        return loaded;
+    }
+
+    private void rebuild() {
+        authorizedSourceIds = sources.values().stream()
+                .filter(source -> source.getStatus() == SourceStatus.AUTHORIZED)
+                .filter(source -> source.getCurrencyCode() != null)
+                .collect(Collectors.groupingBy(
+                        Source::getCurrencyCode,
+                        Collectors.collectingAndThen(
+                                Collectors.mapping(Source::getSourceId, Collectors.toList()),
+                                sourceIds -> sourceIds.stream().sorted().toList())));
+    }
+}
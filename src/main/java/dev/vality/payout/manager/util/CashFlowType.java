@@ -52,6 +52,38 @@ public enum CashFlowType {
             )
     );
 
+    private static final int ACCOUNT_STRIDE;
+    private static final int ACCOUNT_SLOTS;
+    private static final CashFlowType[] LOOKUP;
+    private static final int COUNT;
+
+    static {
+        var types = values();
+        int stride = 0;
+        for (CashFlowType type : types) {
+            for (CashFlowAccount account : type.sources) {
+                stride = Math.max(stride, accountOrdinal(account) + 1);
+            }
+            for (CashFlowAccount account : type.destinations) {
+                stride = Math.max(stride, accountOrdinal(account) + 1);
+            }
+        }
+        ACCOUNT_STRIDE = stride;
+        ACCOUNT_SLOTS = CashFlowAccount._Fields.values().length * stride;
+        LOOKUP = new CashFlowType[ACCOUNT_SLOTS * ACCOUNT_SLOTS];
+        for (CashFlowType type : types) {
+            for (CashFlowAccount source : type.sources) {
+                for (CashFlowAccount destination : type.destinations) {
+                    int index = slot(source) * ACCOUNT_SLOTS + slot(destination);
+                    if (LOOKUP[index] == null) {
+                        LOOKUP[index] = type;
+                    }
+                }
+            }
+        }
+        COUNT = types.length;
+    }
+
     private List<CashFlowAccount> sources;
 
     private List<CashFlowAccount> destinations;
@@ -75,12 +107,17 @@ public enum CashFlowType {
     }
 
     public static CashFlowType getCashFlowType(CashFlowAccount source, CashFlowAccount destination) {
-        for (CashFlowType cashFlowType : values()) {
-            if (cashFlowType.sources.contains(source) && cashFlowType.destinations.contains(destination)) {
-                return cashFlowType;
-            }
+        int sourceSlot = slot(source);
+        int destinationSlot = slot(destination);
+        if (sourceSlot < 0 || destinationSlot < 0) {
+            return UNKNOWN;
         }
-        return UNKNOWN;
+        var cashFlowType = LOOKUP[sourceSlot * ACCOUNT_SLOTS + destinationSlot];
+        return cashFlowType != null ? cashFlowType : UNKNOWN;
+    }
+
+    public static int count() {
+        return COUNT;
     }
 
     public List<CashFlowAccount> getSources() {
@@ -90,4 +127,19 @@ public enum CashFlowType {
     public List<CashFlowAccount> getDestinations() {
         return destinations;
     }
+
+    private static int slot(CashFlowAccount account) {
+        int ordinal = accountOrdinal(account);
+        if (ordinal < 0 || ordinal >= ACCOUNT_STRIDE) {
+            return -1;
+        }
+        return account.getSetField().ordinal() * ACCOUNT_STRIDE + ordinal;
+    }
+
+    private static int accountOrdinal(CashFlowAccount account) {
+        if (account == null || !account.isSet() || !(account.getFieldValue() instanceof Enum<?> value)) {
+            return -1;
+        }
+        return value.ordinal();
+    }
 }
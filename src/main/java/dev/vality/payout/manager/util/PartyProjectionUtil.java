@@ -0,0 +1,40 @@
+package dev.vality.payout.manager.util;
+
+import dev.vality.damsel.domain.PayoutToolInfo;
+import dev.vality.damsel.domain.Shop;
+import dev.vality.geck.common.util.TypeUtil;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+
+public class PartyProjectionUtil {
+
+    public static PartyShop toPartyShop(String partyId, String shopId, Shop shop) {
+        var partyShop = new PartyShop();
+        partyShop.setPartyId(partyId);
+        partyShop.setShopId(shopId);
+        partyShop.setContractId(shop.getContractId());
+        partyShop.setPayoutToolId(shop.getPayoutToolId());
+        if (shop.isSetAccount()) {
+            partyShop.setSettlementAccountId(shop.getAccount().getSettlement());
+        }
+        return partyShop;
+    }
+
+    public static PartyPayoutTool toPartyPayoutTool(
+            String partyId,
+            String contractId,
+            String payoutToolId,
+            PayoutToolInfo payoutToolInfo) {
+        var partyPayoutTool = new PartyPayoutTool();
+        partyPayoutTool.setPartyId(partyId);
+        partyPayoutTool.setContractId(contractId);
+        partyPayoutTool.setPayoutToolId(payoutToolId);
+        partyPayoutTool.setPayoutToolInfo(TypeUtil.toEnumField(
+                payoutToolInfo.getSetField().getFieldName(),
+                dev.vality.payout.manager.domain.enums.PayoutToolInfo.class));
+        if (payoutToolInfo.isSetWalletInfo()) {
+            partyPayoutTool.setWalletId(payoutToolInfo.getWalletInfo().getWalletId());
+        }
+        return partyPayoutTool;
+    }
+}
@@ -1,5 +1,7 @@
 package dev.vality.payout.manager.util;
 
+import dev.vality.damsel.accounter.Posting;
+import dev.vality.damsel.accounter.PostingBatch;
 import dev.vality.damsel.domain.*;
 import dev.vality.geck.common.util.TypeUtil;
 import dev.vality.payout.manager.*;
@@ -20,6 +22,15 @@ public class ThriftUtil {
                         Collectors.summingLong(cashFlow -> cashFlow.getVolume().getAmount())));
     }
 
+    public static long[] sumCashFlow(List<FinalCashFlowPosting> finalCashFlow) {
+        long[] amounts = new long[CashFlowType.count()];
+        for (int i = 0; i < finalCashFlow.size(); i++) {
+            var cashFlow = finalCashFlow.get(i);
+            amounts[CashFlowType.getCashFlowType(cashFlow).ordinal()] += cashFlow.getVolume().getAmount();
+        }
+        return amounts;
+    }
+
     public static Event createEvent(
             dev.vality.payout.manager.domain.tables.pojos.Payout payout,
             List<CashFlowPosting> cashFlowPostings) {
@@ -80,6 +91,33 @@ public class ThriftUtil {
                 .collect(Collectors.toList());
     }
 
+    public static PostingBatch toPostingBatch(List<CashFlowPosting> postings) {
+        return new PostingBatch(
+                1L,
+                postings.stream()
+                        .map(ThriftUtil::toPosting)
+                        .collect(Collectors.toList()));
+    }
+
+    private static Posting toPosting(CashFlowPosting cashFlowPosting) {
+        var posting = new Posting();
+        posting.setFromId(cashFlowPosting.getFromAccountId());
+        posting.setToId(cashFlowPosting.getToAccountId());
+        posting.setAmount(cashFlowPosting.getAmount());
+        posting.setCurrencySymCode(cashFlowPosting.getCurrencyCode());
+        posting.setDescription(buildPostingDescription(
+                cashFlowPosting.getPayoutId(),
+                cashFlowPosting.getDescription()));
+        return posting;
+    }
+
+    private static String buildPostingDescription(String payoutId, String description) {
+        if (description == null) {
+            return "PAYOUT-" + payoutId;
+        }
+        return description;
+    }
+
     private static PayoutStatus toThriftPayoutStatus(
             dev.vality.payout.manager.domain.enums.PayoutStatus payoutStatus,
             String cancelDetails) {
@@ -91,7 +129,7 @@ public class ThriftUtil {
         };
     }
 
-    private static List<FinalCashFlowPosting> toThriftCashFlows(
+    public static List<FinalCashFlowPosting> toThriftCashFlows(
             List<CashFlowPosting> cashFlowPostings) {
         return cashFlowPostings.stream()
                 .map(cfp -> new FinalCashFlowPosting(
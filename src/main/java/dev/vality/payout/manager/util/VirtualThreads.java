@@ -0,0 +1,61 @@
+package dev.vality.payout.manager.util;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+public class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null));
+        } catch (ReflectiveOperationException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<Executor> newBoundedVirtualThreadPerTaskExecutor(int maxConcurrentTasks) {
+        return newVirtualThreadPerTaskExecutor().map(executor -> {
+            var permits = new Semaphore(maxConcurrentTasks);
+            return task -> {
+                if (!permits.tryAcquire()) {
+                    throw new RejectedExecutionException(String.format(
+                            "Virtual thread executor is saturated, maxConcurrentTasks='%d'", maxConcurrentTasks));
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    permits.release();
+                    throw ex;
+                }
+            };
+        });
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+}
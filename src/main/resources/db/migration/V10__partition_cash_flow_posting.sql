@@ -0,0 +1,55 @@
+create or replace function pm.create_cash_flow_posting_partitions(months_ahead integer) returns void as
+$$
+declare
+    partition_start timestamp without time zone;
+begin
+    for i in 1..months_ahead
+        loop
+            partition_start := date_trunc('month', now() at time zone 'utc') + make_interval(months => i);
+            execute format(
+                    'create table if not exists pm.cash_flow_posting_p%s partition of pm.cash_flow_posting ' ||
+                    'for values from (%L) to (%L)',
+                    to_char(partition_start, 'YYYYMM'),
+                    partition_start,
+                    partition_start + interval '1 month');
+        end loop;
+end;
+$$ language plpgsql;
+
+do
+$$
+    declare
+        legacy_end timestamp without time zone;
+    begin
+        select substring(pg_get_constraintdef(oid) from '''([^'']+)''')::timestamp without time zone
+        into legacy_end
+        from pg_constraint
+        where conrelid = 'pm.cash_flow_posting'::regclass
+          and conname = 'cash_flow_posting_legacy_created_at_check';
+
+        create table pm.cash_flow_posting_partitioned
+        (
+            like pm.cash_flow_posting including defaults
+        ) partition by range (created_at);
+
+        alter table pm.cash_flow_posting rename to cash_flow_posting_legacy;
+        alter index pm.cash_flow_posting_payout_id_idx rename to cash_flow_posting_legacy_payout_id_idx;
+        alter table pm.cash_flow_posting_partitioned rename to cash_flow_posting;
+        alter sequence pm.cash_flow_posting_id_seq owned by pm.cash_flow_posting.id;
+
+        alter table pm.cash_flow_posting
+            add constraint cash_flow_posting_pkey primary key (id, created_at);
+        create index cash_flow_posting_payout_id_idx on only pm.cash_flow_posting (payout_id);
+
+        execute format(
+                'alter table pm.cash_flow_posting attach partition pm.cash_flow_posting_legacy ' ||
+                'for values from (minvalue) to (%L)',
+                legacy_end);
+        alter index pm.cash_flow_posting_payout_id_idx
+            attach partition pm.cash_flow_posting_legacy_payout_id_idx;
+
+        create table pm.cash_flow_posting_default partition of pm.cash_flow_posting default;
+
+        perform pm.create_cash_flow_posting_partitions(12);
+    end
+$$;
@@ -0,0 +1,11 @@
+create index concurrently if not exists payout_party_id_shop_id_created_at_idx
+    on pm.payout (party_id, shop_id, created_at, id);
+
+create index concurrently if not exists payout_party_id_created_at_idx
+    on pm.payout (party_id, created_at, id);
+
+create index concurrently if not exists payout_status_created_at_idx
+    on pm.payout (status, created_at, id);
+
+create index concurrently if not exists payout_created_at_idx
+    on pm.payout (created_at, id);
@@ -0,0 +1,10 @@
+alter table pm.source
+    add column if not exists last_event_id bigint;
+
+create table if not exists pm.source_offset
+(
+    topic        varchar not null,
+    partition_id integer not null,
+    next_offset  bigint  not null,
+    constraint source_offset_pkey primary key (topic, partition_id)
+);
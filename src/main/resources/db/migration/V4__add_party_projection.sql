@@ -0,0 +1,36 @@
+create table if not exists pm.party_revision
+(
+    id       bigserial not null,
+    party_id varchar   not null,
+    revision bigint    not null,
+    event_id bigint    not null,
+    constraint party_revision_id_pkey primary key (id),
+    constraint party_revision_party_id_ukey unique (party_id)
+);
+
+create table if not exists pm.party_shop
+(
+    id                    bigserial not null,
+    party_id              varchar   not null,
+    shop_id               varchar   not null,
+    contract_id           varchar   not null,
+    payout_tool_id        varchar,
+    settlement_account_id bigint,
+    event_id              bigint    not null,
+    constraint party_shop_id_pkey primary key (id),
+    constraint party_shop_party_id_shop_id_ukey unique (party_id, shop_id)
+);
+
+create table if not exists pm.party_payout_tool
+(
+    id               bigserial           not null,
+    party_id         varchar             not null,
+    contract_id      varchar             not null,
+    payout_tool_id   varchar             not null,
+    payout_tool_info pm.payout_tool_info not null,
+    wallet_id        varchar,
+    event_id         bigint              not null,
+    constraint party_payout_tool_id_pkey primary key (id),
+    constraint party_payout_tool_party_id_contract_id_payout_tool_id_ukey
+        unique (party_id, contract_id, payout_tool_id)
+);
@@ -0,0 +1,20 @@
+create type pm.payout_step_type as enum ('HOLD', 'COMMIT', 'ROLLBACK', 'REVERT');
+
+create type pm.payout_step_status as enum ('PENDING', 'SUCCEEDED', 'FAILED');
+
+create table if not exists pm.payout_step
+(
+    id              bigserial                   not null,
+    payout_id       varchar                     not null,
+    type            pm.payout_step_type         not null,
+    status          pm.payout_step_status       not null,
+    attempt         integer                     not null default 0,
+    created_at      timestamp without time zone not null,
+    next_attempt_at timestamp without time zone not null,
+    error           varchar,
+    constraint payout_step_id_pkey primary key (id)
+);
+
+create index if not exists payout_step_payout_id_idx on pm.payout_step (payout_id);
+
+create index if not exists payout_step_pending_idx on pm.payout_step (next_attempt_at) where status = 'PENDING';
@@ -0,0 +1,10 @@
+create table if not exists pm.payout_event
+(
+    id          bigserial                   not null,
+    payout_id   varchar                     not null,
+    sequence_id integer                     not null,
+    created_at  timestamp without time zone not null,
+    event       bytea                       not null,
+    constraint payout_event_id_pkey primary key (id),
+    constraint payout_event_payout_id_sequence_id_ukey unique (payout_id, sequence_id)
+);
@@ -0,0 +1,5 @@
+create index concurrently if not exists cash_flow_posting_payout_id_idx
+    on pm.cash_flow_posting (payout_id);
+
+create unique index concurrently if not exists cash_flow_posting_id_created_at_idx
+    on pm.cash_flow_posting (id, created_at);
@@ -0,0 +1,9 @@
+do
+$$
+    begin
+        execute format(
+                'alter table pm.cash_flow_posting add constraint cash_flow_posting_legacy_created_at_check ' ||
+                'check (created_at < %L) not valid',
+                date_trunc('month', now() at time zone 'utc') + interval '1 month');
+    end
+$$;
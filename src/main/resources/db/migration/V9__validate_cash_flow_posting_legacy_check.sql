@@ -0,0 +1 @@
+alter table pm.cash_flow_posting validate constraint cash_flow_posting_legacy_created_at_check;
@@ -0,0 +1,103 @@
+package dev.vality.payout.manager.benchmark;
+
+import dev.vality.damsel.domain.*;
+import dev.vality.payout.manager.util.CashFlowType;
+import dev.vality.payout.manager.util.ThriftUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CashFlowTypeBenchmark {
+
+    @Param({"3", "30"})
+    private int postings;
+
+    private List<FinalCashFlowPosting> finalCashFlow;
+
+    @Setup
+    public void setup() {
+        var templates = List.of(
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.payout), 100L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.payout),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.settlement), 1L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.system(SystemCashFlowAccount.settlement), 2L));
+        finalCashFlow = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) {
+            finalCashFlow.add(templates.get(i % templates.size()));
+        }
+    }
+
+    @Benchmark
+    public void classifyScan(Blackhole blackhole) {
+        for (FinalCashFlowPosting posting : finalCashFlow) {
+            blackhole.consume(scan(posting.getSource().getAccountType(), posting.getDestination().getAccountType()));
+        }
+    }
+
+    @Benchmark
+    public void classifyLookup(Blackhole blackhole) {
+        for (FinalCashFlowPosting posting : finalCashFlow) {
+            blackhole.consume(CashFlowType.getCashFlowType(posting));
+        }
+    }
+
+    @Benchmark
+    public Map<CashFlowType, Long> parseScan() {
+        return finalCashFlow.stream()
+                .collect(Collectors.groupingBy(
+                        posting -> scan(
+                                posting.getSource().getAccountType(), posting.getDestination().getAccountType()),
+                        Collectors.summingLong(posting -> posting.getVolume().getAmount())));
+    }
+
+    @Benchmark
+    public Map<CashFlowType, Long> parseLookup() {
+        return ThriftUtil.parseCashFlow(finalCashFlow);
+    }
+
+    @Benchmark
+    public long[] sumLookup() {
+        return ThriftUtil.sumCashFlow(finalCashFlow);
+    }
+
+    private static CashFlowType scan(CashFlowAccount source, CashFlowAccount destination) {
+        for (CashFlowType cashFlowType : CashFlowType.values()) {
+            if (cashFlowType.getSources().contains(source) && cashFlowType.getDestinations().contains(destination)) {
+                return cashFlowType;
+            }
+        }
+        return CashFlowType.UNKNOWN;
+    }
+
+    private static FinalCashFlowPosting posting(CashFlowAccount source, CashFlowAccount destination, long amount) {
+        return new FinalCashFlowPosting()
+                .setSource(new FinalCashFlowAccount().setAccountType(source))
+                .setDestination(new FinalCashFlowAccount().setAccountType(destination))
+                .setVolume(new Cash(amount, new CurrencyRef("RUB")));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CashFlowTypeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,130 @@
+package dev.vality.payout.manager.benchmark;
+
+import dev.vality.damsel.accounter.PostingBatch;
+import dev.vality.damsel.domain.*;
+import dev.vality.payout.manager.Event;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.enums.PayoutToolInfo;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.util.CashFlowType;
+import dev.vality.payout.manager.util.ThriftUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayoutConversionBenchmark {
+
+    private static final String PAYOUT_ID = "payout-id";
+
+    @Param({"3", "30"})
+    private int postings;
+
+    private LocalDateTime createdAt;
+    private Payout payout;
+    private Payout confirmedPayout;
+    private List<FinalCashFlowPosting> finalCashFlow;
+    private List<CashFlowPosting> cashFlowPostings;
+
+    @Setup
+    public void setup() {
+        createdAt = LocalDateTime.now(ZoneOffset.UTC);
+        var templates = List.of(
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.payout), 100L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.payout),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.settlement), 1L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.system(SystemCashFlowAccount.settlement), 2L));
+        finalCashFlow = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) {
+            finalCashFlow.add(templates.get(i % templates.size()));
+        }
+        cashFlowPostings = ThriftUtil.toDomainCashFlows(PAYOUT_ID, createdAt, finalCashFlow);
+        payout = payout(0, PayoutStatus.UNPAID);
+        confirmedPayout = payout(1, PayoutStatus.CONFIRMED);
+    }
+
+    @Benchmark
+    public dev.vality.payout.manager.Payout toThriftPayout() {
+        return ThriftUtil.toThriftPayout(payout, cashFlowPostings);
+    }
+
+    @Benchmark
+    public List<FinalCashFlowPosting> toThriftCashFlows() {
+        return ThriftUtil.toThriftCashFlows(cashFlowPostings);
+    }
+
+    @Benchmark
+    public List<CashFlowPosting> toDomainCashFlows() {
+        return ThriftUtil.toDomainCashFlows(PAYOUT_ID, createdAt, finalCashFlow);
+    }
+
+    @Benchmark
+    public Event createEventCreated() {
+        return ThriftUtil.createEvent(payout, cashFlowPostings);
+    }
+
+    @Benchmark
+    public Event createEventStatusChanged() {
+        return ThriftUtil.createEvent(confirmedPayout, cashFlowPostings);
+    }
+
+    @Benchmark
+    public Map<CashFlowType, Long> parseCashFlow() {
+        return ThriftUtil.parseCashFlow(finalCashFlow);
+    }
+
+    @Benchmark
+    public PostingBatch toPostingBatch() {
+        return ThriftUtil.toPostingBatch(cashFlowPostings);
+    }
+
+    private Payout payout(int sequenceId, PayoutStatus status) {
+        var payout = new Payout();
+        payout.setId(1L);
+        payout.setSequenceId(sequenceId);
+        payout.setPayoutId(PAYOUT_ID);
+        payout.setCreatedAt(createdAt);
+        payout.setPartyId("party-id");
+        payout.setShopId("shop-id");
+        payout.setStatus(status);
+        payout.setPayoutToolId("payout-tool-id");
+        payout.setAmount(97L);
+        payout.setFee(3L);
+        payout.setCurrencyCode("RUB");
+        payout.setPayoutToolInfo(PayoutToolInfo.RUSSIAN_BANK_ACCOUNT);
+        return payout;
+    }
+
+    private static FinalCashFlowPosting posting(CashFlowAccount source, CashFlowAccount destination, long amount) {
+        return new FinalCashFlowPosting()
+                .setSource(new FinalCashFlowAccount().setAccountType(source).setAccountId(1L))
+                .setDestination(new FinalCashFlowAccount().setAccountType(destination).setAccountId(2L))
+                .setVolume(new Cash(amount, new CurrencyRef("RUB")))
+                .setDetails("details");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayoutConversionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
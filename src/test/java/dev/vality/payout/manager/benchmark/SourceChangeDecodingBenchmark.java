@@ -0,0 +1,74 @@
+package dev.vality.payout.manager.benchmark;
+
+import dev.vality.fistful.account.Account;
+import dev.vality.fistful.account.AccountChange;
+import dev.vality.fistful.base.CurrencyRef;
+import dev.vality.fistful.source.*;
+import dev.vality.payout.manager.serde.TimestampedChangeDeserializer;
+import dev.vality.payout.manager.serde.TimestampedChangeLightDeserializer;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SourceChangeDecodingBenchmark {
+
+    private final TimestampedChangeDeserializer deserializer = new TimestampedChangeDeserializer();
+    private final TimestampedChangeLightDeserializer lightDeserializer =
+            new TimestampedChangeLightDeserializer(deserializer);
+
+    private byte[][] events;
+
+    @Setup
+    public void setup() throws TException {
+        Account account = RandomBeans.randomThriftOnlyRequiredFields(Account.class);
+        account.setCurrency(new CurrencyRef("RUB"));
+        var serializer = new TSerializer();
+        events = new byte[][]{
+                serializer.serialize(timestampedChange(
+                        Change.created(RandomBeans.randomThriftOnlyRequiredFields(Source.class)))),
+                serializer.serialize(timestampedChange(Change.account(AccountChange.created(account)))),
+                serializer.serialize(timestampedChange(
+                        Change.status(new StatusChange(Status.authorized(new Authorized())))))};
+    }
+
+    @Benchmark
+    public void full(Blackhole blackhole) {
+        for (byte[] event : events) {
+            blackhole.consume(deserializer.deserialize(event));
+        }
+    }
+
+    @Benchmark
+    public void light(Blackhole blackhole) {
+        for (byte[] event : events) {
+            blackhole.consume(lightDeserializer.deserialize(event));
+        }
+    }
+
+    private static TimestampedChange timestampedChange(Change change) {
+        return new TimestampedChange(Instant.now().toString(), change);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SourceChangeDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
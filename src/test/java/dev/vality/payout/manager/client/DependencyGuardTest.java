@@ -0,0 +1,154 @@
+package dev.vality.payout.manager.client;
+
+import dev.vality.damsel.accounter.Account;
+import dev.vality.damsel.accounter.AccounterSrv;
+import dev.vality.payout.manager.exception.DependencyUnavailableException;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import dev.vality.woody.api.flow.error.WRuntimeException;
+import dev.vality.woody.thrift.impl.http.THServiceBuilder;
+import dev.vality.woody.thrift.impl.http.THSpawnClientBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class DependencyGuardTest {
+
+    private static final long OPEN_STATE_DURATION = 300;
+
+    private final AccounterSrv.Iface accounter = mock(AccounterSrv.Iface.class);
+    private Tomcat tomcat;
+    private URI stubUri;
+
+    @BeforeEach
+    public void startStub() throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("accounter-stub").toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "accounter", new THServiceBuilder().build(AccounterSrv.Iface.class, accounter));
+        context.addServletMappingDecoded("/accounter", "accounter");
+        tomcat.getConnector();
+        tomcat.start();
+        stubUri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/accounter");
+    }
+
+    @AfterEach
+    public void stopStub() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    public void shouldOpenCircuitOnInjectedFaultsAndRecover() throws Exception {
+        var guard = new DependencyGuard("shumway", 50, 4, 4, OPEN_STATE_DURATION, 4, 100, new SimpleMeterRegistry());
+        AccounterSrv.Iface client = guard.wrap(AccounterSrv.Iface.class, client());
+        when(accounter.getAccountByID(anyLong())).thenThrow(new IllegalStateException("injected fault"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WRuntimeException.class, () -> client.getAccountByID(1L));
+        }
+        assertEquals(DependencyGuard.State.OPEN, guard.getState());
+        assertThrows(DependencyUnavailableException.class, () -> client.getAccountByID(1L));
+        verify(accounter, times(4)).getAccountByID(anyLong());
+
+        reset(accounter);
+        when(accounter.getAccountByID(anyLong())).thenReturn(RandomBeans.randomThriftOnlyRequiredFields(Account.class));
+        Thread.sleep(OPEN_STATE_DURATION);
+        assertEquals(DependencyGuard.State.HALF_OPEN, guard.getState());
+        client.getAccountByID(1L);
+        assertEquals(DependencyGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    public void shouldLetOnlyProbeDecideHalfOpenTransition() throws Exception {
+        var guard = new DependencyGuard("shumway", 50, 4, 4, OPEN_STATE_DURATION, 4, 100, new SimpleMeterRegistry());
+        AccounterSrv.Iface client = guard.wrap(AccounterSrv.Iface.class, client());
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(accounter.getAccountByID(anyLong())).thenAnswer(invocation -> {
+            if (invocation.<Long>getArgument(0) == 0L) {
+                entered.countDown();
+                release.await();
+            }
+            throw new IllegalStateException("injected fault");
+        });
+
+        var staleCall = CompletableFuture.runAsync(() ->
+                assertThrows(WRuntimeException.class, () -> client.getAccountByID(0L)));
+        entered.await();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WRuntimeException.class, () -> client.getAccountByID(1L));
+        }
+        assertEquals(DependencyGuard.State.OPEN, guard.getState());
+        Thread.sleep(OPEN_STATE_DURATION);
+        assertEquals(DependencyGuard.State.HALF_OPEN, guard.getState());
+
+        release.countDown();
+        staleCall.join();
+        assertEquals(DependencyGuard.State.HALF_OPEN, guard.getState());
+
+        reset(accounter);
+        when(accounter.getAccountByID(anyLong())).thenReturn(RandomBeans.randomThriftOnlyRequiredFields(Account.class));
+        client.getAccountByID(1L);
+        assertEquals(DependencyGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    public void shouldRejectCallsOverBulkheadLimit() throws Exception {
+        var guard = new DependencyGuard("shumway", 50, 4, 4, OPEN_STATE_DURATION, 1, 50, new SimpleMeterRegistry());
+        AccounterSrv.Iface client = guard.wrap(AccounterSrv.Iface.class, client());
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(accounter.getAccountByID(anyLong())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return RandomBeans.randomThriftOnlyRequiredFields(Account.class);
+        });
+
+        var slowCall = CompletableFuture.runAsync(() -> {
+            try {
+                client.getAccountByID(1L);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        entered.await();
+        assertThrows(DependencyUnavailableException.class, () -> client.getAccountByID(2L));
+        release.countDown();
+        slowCall.join();
+        assertEquals(1, guard.getAvailableConcurrentCalls());
+    }
+
+    @Test
+    public void shouldStopRetryingWhenBudgetIsExhausted() {
+        var budget = new RetryBudget("shumway", 0.5, 1, new SimpleMeterRegistry());
+        budget.onCall();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        budget.onCall();
+        budget.onCall();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    private AccounterSrv.Iface client() {
+        return new THSpawnClientBuilder()
+                .withAddress(stubUri)
+                .withNetworkTimeout(1000)
+                .build(AccounterSrv.Iface.class);
+    }
+}
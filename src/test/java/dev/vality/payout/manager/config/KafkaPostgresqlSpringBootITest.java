@@ -19,7 +19,8 @@ import java.lang.annotation.Target;
                 "kafka.topic.source.consume.enabled=true"},
         topicsKeys = {
                 "kafka.topic.pm-events-payout.name",
-                "kafka.topic.source.name"})
+                "kafka.topic.source.name",
+                "kafka.topic.source-dlt.name"})
 @KafkaSpringBootTest
 @Import(KafkaConsumerConfig.class)
 public @interface KafkaPostgresqlSpringBootITest {
@@ -0,0 +1,86 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@PostgresqlSpringBootITest
+public class CashFlowPostingLookupBenchmarkTest {
+
+    private static final int[] PAYOUTS_PER_STEP = {1_000, 10_000, 50_000};
+    private static final int PLAN_PAYOUTS = 10_000;
+    private static final int POSTINGS_PER_PAYOUT = 3;
+    private static final int LOOKUPS = 500;
+
+    private final String prefix = "bench-" + System.nanoTime() + "-";
+
+    @Autowired
+    private CashFlowPostingDao cashFlowPostingDao;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from pm.cash_flow_posting where payout_id like ?", prefix + "%");
+    }
+
+    @Test
+    public void shouldLookupPostingsByIndex() {
+        insert(0, PLAN_PAYOUTS);
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "explain select * from pm.cash_flow_posting where payout_id = ?", String.class, prefix + 1));
+        assertFalse(plan.contains("Seq Scan on cash_flow_posting_legacy"), plan);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+    public void shouldKeepLookupLatencyFlatWhenTableGrows() {
+        List<Long> medians = new ArrayList<>();
+        int inserted = 0;
+        for (int payouts : PAYOUTS_PER_STEP) {
+            insert(inserted, payouts);
+            inserted = payouts;
+            long median = measureMedianNanos(payouts);
+            log.info("CashFlowPosting lookup, rows={}, medianMicros={}",
+                    payouts * POSTINGS_PER_PAYOUT, median / 1_000);
+            medians.add(median);
+        }
+        assertTrue(medians.get(medians.size() - 1) < medians.get(0) * 5,
+                String.format("Lookup latency grows with table size, medians=%s", medians));
+    }
+
+    private void insert(int from, int to) {
+        jdbcTemplate.update("insert into pm.cash_flow_posting (payout_id, created_at, from_account_id, " +
+                        "from_account_type, to_account_id, to_account_type, amount, currency_code) " +
+                        "select ?::varchar || payout.n, now() at time zone 'utc', 1, 'MERCHANT_SETTLEMENT', 2, " +
+                        "'MERCHANT_PAYOUT', 100, 'RUB' " +
+                        "from generate_series(?, ?) as payout(n), generate_series(1, ?) as posting(n)",
+                prefix, from, to - 1, POSTINGS_PER_PAYOUT);
+        jdbcTemplate.execute("analyze pm.cash_flow_posting");
+    }
+
+    private long measureMedianNanos(int payouts) {
+        long[] latencies = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String payoutId = prefix + ThreadLocalRandom.current().nextInt(payouts);
+            long start = System.nanoTime();
+            cashFlowPostingDao.getByPayoutId(payoutId);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[LOOKUPS / 2];
+    }
+}
@@ -0,0 +1,51 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@PostgresqlSpringBootITest
+public class PartyShopDaoTest {
+
+    @Autowired
+    private PartyShopDao partyShopDao;
+
+    @Test
+    public void testSaveAndGet() {
+        PartyShop partyShop = random(PartyShop.class, "id");
+        partyShop.setPartyId(generatePayoutId());
+        partyShopDao.save(partyShop);
+        PartyShop saved = partyShopDao.get(partyShop.getPartyId(), partyShop.getShopId());
+        partyShop.setId(saved.getId());
+        assertEquals(partyShop, saved);
+        assertNull(partyShopDao.get(partyShop.getPartyId(), generatePayoutId()));
+    }
+
+    @Test
+    public void shouldNotOverrideByOlderEvent() {
+        PartyShop partyShop = random(PartyShop.class, "id");
+        partyShop.setPartyId(generatePayoutId());
+        partyShop.setEventId(10L);
+        partyShopDao.save(partyShop);
+        PartyShop older = new PartyShop(partyShop);
+        older.setContractId(generatePayoutId());
+        older.setEventId(9L);
+        partyShopDao.save(older);
+        assertEquals(
+                partyShop.getContractId(),
+                partyShopDao.get(partyShop.getPartyId(), partyShop.getShopId()).getContractId());
+        PartyShop newer = new PartyShop(partyShop);
+        newer.setContractId(generatePayoutId());
+        newer.setEventId(11L);
+        partyShopDao.save(newer);
+        assertEquals(
+                newer.getContractId(),
+                partyShopDao.get(partyShop.getPartyId(), partyShop.getShopId()).getContractId());
+    }
+}
@@ -2,12 +2,17 @@ package dev.vality.payout.manager.dao;
 
 import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
 import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.domain.tables.pojos.Payout;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
 import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.randomStreamOf;
 import static org.junit.jupiter.api.Assertions.*;
 
 @PostgresqlSpringBootITest
@@ -15,6 +20,8 @@ public class PayoutDaoTest {
 
     @Autowired
     private PayoutDao payoutDao;
+    @Autowired
+    private CashFlowPostingDao cashFlowPostingDao;
 
     @Test
     public void testSaveAndGet() {
@@ -57,4 +64,25 @@ public class PayoutDaoTest {
                 payoutDao.get(payout.getPayoutId()).getSequenceId());
 
     }
+
+    @Test
+    public void shouldGetWithCashFlowPostings() {
+        Payout payout = random(Payout.class, "id");
+        payout.setPayoutId(generatePayoutId());
+        payout.setId(payoutDao.save(payout));
+        assertTrue(payoutDao.getWithCashFlowPostings(payout.getPayoutId()).getCashFlowPostings().isEmpty());
+        List<CashFlowPosting> cashFlowPostings = randomStreamOf(3, CashFlowPosting.class, "id")
+                .peek(cashFlowPosting -> {
+                    cashFlowPosting.setPayoutId(payout.getPayoutId());
+                    cashFlowPosting.setCreatedAt(payout.getCreatedAt());
+                })
+                .collect(Collectors.toList());
+        cashFlowPostingDao.save(cashFlowPostings);
+        var payoutWithCashFlowPostings = payoutDao.getWithCashFlowPostings(payout.getPayoutId());
+        assertEquals(payout, payoutWithCashFlowPostings.getPayout());
+        assertEquals(
+                cashFlowPostingDao.getByPayoutId(payout.getPayoutId()),
+                payoutWithCashFlowPostings.getCashFlowPostings());
+        assertNull(payoutDao.getWithCashFlowPostings(generatePayoutId()));
+    }
 }
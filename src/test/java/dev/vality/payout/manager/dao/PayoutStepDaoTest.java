@@ -0,0 +1,75 @@
+package dev.vality.payout.manager.dao;
+
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.domain.enums.PayoutStepStatus;
+import dev.vality.payout.manager.domain.enums.PayoutStepType;
+import dev.vality.payout.manager.domain.tables.pojos.PayoutStep;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PostgresqlSpringBootITest
+@TestPropertySource(properties = "payout.step.worker.enabled=false")
+public class PayoutStepDaoTest {
+
+    @Autowired
+    private PayoutStepDao payoutStepDao;
+
+    @Test
+    public void shouldClaimOnlyDuePendingSteps() {
+        LocalDateTime now = LocalDateTime.now();
+        String payoutId = generatePayoutId();
+        long dueId = payoutStepDao.save(payoutStep(payoutId, now.minusMinutes(1)));
+        payoutStepDao.save(payoutStep(payoutId, now.plusMinutes(1)));
+
+        var claimed = payoutStepDao.claimPending(100, now, now.plusMinutes(2));
+        assertEquals(1, claimed.stream().filter(step -> step.getPayoutId().equals(payoutId)).count());
+        PayoutStep payoutStep = claimed.stream()
+                .filter(step -> step.getId() == dueId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, payoutStep.getAttempt());
+        assertTrue(payoutStepDao.claimPending(100, now, now.plusMinutes(2)).stream()
+                .noneMatch(step -> step.getPayoutId().equals(payoutId)));
+        assertEquals(2, payoutStepDao.getPendingByPayoutId(payoutId).size());
+    }
+
+    @Test
+    public void shouldMarkSucceededOnlyOnce() {
+        String payoutId = generatePayoutId();
+        long id = payoutStepDao.save(payoutStep(payoutId, LocalDateTime.now()));
+        assertTrue(payoutStepDao.markSucceeded(id));
+        assertFalse(payoutStepDao.markSucceeded(id));
+        assertTrue(payoutStepDao.getPendingByPayoutId(payoutId).isEmpty());
+
+        long failedId = payoutStepDao.save(payoutStep(payoutId, LocalDateTime.now()));
+        assertTrue(payoutStepDao.markFailed(failedId, "error"));
+        assertFalse(payoutStepDao.markSucceeded(failedId));
+    }
+
+    @Test
+    public void shouldFailOrRenewOnlyPendingSteps() {
+        String payoutId = generatePayoutId();
+        long id = payoutStepDao.save(payoutStep(payoutId, LocalDateTime.now()));
+        assertTrue(payoutStepDao.renewLease(id, LocalDateTime.now().plusMinutes(1)));
+        assertTrue(payoutStepDao.markSucceeded(id));
+        assertFalse(payoutStepDao.markFailed(id, "error"));
+        assertFalse(payoutStepDao.renewLease(id, LocalDateTime.now().plusMinutes(1)));
+    }
+
+    private PayoutStep payoutStep(String payoutId, LocalDateTime nextAttemptAt) {
+        PayoutStep payoutStep = new PayoutStep();
+        payoutStep.setPayoutId(payoutId);
+        payoutStep.setType(PayoutStepType.HOLD);
+        payoutStep.setStatus(PayoutStepStatus.PENDING);
+        payoutStep.setAttempt(1);
+        payoutStep.setCreatedAt(LocalDateTime.now());
+        payoutStep.setNextAttemptAt(nextAttemptAt);
+        return payoutStep;
+    }
+}
@@ -4,7 +4,6 @@ import dev.vality.fistful.source.*;
 import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
 import dev.vality.payout.manager.domain.enums.SourceStatus;
 import dev.vality.payout.manager.domain.tables.pojos.Source;
-import dev.vality.payout.manager.exception.NotFoundException;
 import dev.vality.payout.manager.handler.StatusChangedSourceHandlerImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +14,6 @@ import static dev.vality.payout.manager.domain.tables.Source.SOURCE;
 import static dev.vality.payout.manager.util.ValuesGenerator.generateSourceId;
 import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @PostgresqlSpringBootITest
 public class SourceDaoTest {
@@ -54,7 +52,5 @@ public class SourceDaoTest {
         update.setId(sourceDao.save(update).get());
         assertEquals(update, sourceDao.get(update.getSourceId()));
         assertEquals(1, JdbcTestUtils.countRowsInTable(jdbcTemplate, TABLE_NAME));
-        assertEquals(update, sourceDao.getAuthorizedByCurrencyCode(update.getCurrencyCode()));
-        assertThrows(NotFoundException.class, () -> sourceDao.getAuthorizedByCurrencyCode("RUB"));
     }
 }
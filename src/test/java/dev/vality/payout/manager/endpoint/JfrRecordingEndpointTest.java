@@ -0,0 +1,59 @@
+package dev.vality.payout.manager.endpoint;
+
+import dev.vality.payout.manager.jfr.PayoutOperationEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(endpoint, "settings", "default");
+        ReflectionTestUtils.setField(endpoint, "defaultDuration", 60L);
+        ReflectionTestUtils.setField(endpoint, "maxDuration", 120L);
+        ReflectionTestUtils.setField(endpoint, "maxSize", 16L * 1024 * 1024);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        endpoint.destroy();
+    }
+
+    @Test
+    public void shouldRecordPayoutOperationEvents() throws Exception {
+        assertEquals("RUNNING", endpoint.start(null).get("state"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(null));
+        var event = new PayoutOperationEvent("confirm", "payoutId");
+        event.record(() -> event.setPayoutRows(1));
+
+        var resource = endpoint.stop();
+
+        List<RecordedEvent> recordedEvents = RecordingFile.readAllEvents(resource.getFile().toPath()).stream()
+                .filter(recordedEvent -> "dev.vality.payout.PayoutOperation".equals(
+                        recordedEvent.getEventType().getName()))
+                .toList();
+        assertEquals(1, recordedEvents.size());
+        assertEquals("payoutId", recordedEvents.get(0).getString("payoutId"));
+        assertEquals("success", recordedEvents.get(0).getString("outcome"));
+        assertEquals(1, recordedEvents.get(0).getInt("payoutRows"));
+        assertEquals("NONE", endpoint.status().get("state"));
+    }
+
+    @Test
+    public void shouldRejectDurationAboveLimit() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(121L));
+        assertThrows(InvalidEndpointRequestException.class, endpoint::stop);
+    }
+}
@@ -3,7 +3,6 @@ package dev.vality.payout.manager.handler;
 import dev.vality.damsel.base.InvalidRequest;
 import dev.vality.damsel.domain.Cash;
 import dev.vality.damsel.domain.CurrencyRef;
-import dev.vality.kafka.common.exception.KafkaProduceException;
 import dev.vality.payout.manager.InsufficientFunds;
 import dev.vality.payout.manager.PayoutParams;
 import dev.vality.payout.manager.ShopParams;
@@ -11,8 +10,7 @@ import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
 import dev.vality.payout.manager.domain.tables.pojos.Payout;
 import dev.vality.payout.manager.exception.InsufficientFundsException;
 import dev.vality.payout.manager.exception.InvalidRequestException;
-import dev.vality.payout.manager.service.CashFlowPostingService;
-import dev.vality.payout.manager.service.PayoutKafkaProducerService;
+import dev.vality.payout.manager.model.PayoutWithCashFlowPostings;
 import dev.vality.payout.manager.service.PayoutService;
 import org.apache.thrift.TException;
 import org.junit.jupiter.api.Test;
@@ -50,10 +48,6 @@ public class PayoutManagementHandlerTest {
 
     @MockBean
     private PayoutService payoutService;
-    @MockBean
-    private CashFlowPostingService cashFlowPostingService;
-    @MockBean
-    private PayoutKafkaProducerService payoutKafkaProducerService;
 
     @Autowired
     private PayoutManagementHandler payoutManagementHandler;
@@ -63,12 +57,11 @@ public class PayoutManagementHandlerTest {
         String payoutId = generatePayoutId();
         when(payoutService.create(anyString(), anyString(), any(), isNull(), isNull())).thenReturn(payoutId);
         Payout payout = random(Payout.class);
-        when(payoutService.get(eq(payoutId))).thenReturn(payout);
         List<CashFlowPosting> cashFlowPostings = randomStreamOf(4, CashFlowPosting.class, "id")
                 .peek(cashFlowPosting -> cashFlowPosting.setPayoutId(payoutId))
                 .collect(Collectors.toList());
-        when(cashFlowPostingService.getCashFlowPostings(anyString())).thenReturn(cashFlowPostings);
-        doNothing().when(payoutKafkaProducerService).send(any());
+        when(payoutService.getWithCashFlowPostings(eq(payoutId)))
+                .thenReturn(new PayoutWithCashFlowPostings(payout, cashFlowPostings));
         PayoutParams payoutParams = new PayoutParams(
                 new ShopParams("partyId", "shopId"),
                 new Cash(100L,
@@ -102,26 +95,6 @@ public class PayoutManagementHandlerTest {
                 () -> payoutManagementHandler.createPayout(payoutParams));
     }
 
-    @Test
-    public void shouldThrowExceptionAtCreateWhenKafkaIssue() {
-        String payoutId = generatePayoutId();
-        when(payoutService.create(anyString(), anyString(), any(), isNull(), isNull())).thenReturn(payoutId);
-        Payout payout = random(Payout.class);
-        when(payoutService.get(eq(payoutId))).thenReturn(payout);
-        List<CashFlowPosting> cashFlowPostings = randomStreamOf(4, CashFlowPosting.class, "id")
-                .peek(cashFlowPosting -> cashFlowPosting.setPayoutId(payoutId))
-                .collect(Collectors.toList());
-        when(cashFlowPostingService.getCashFlowPostings(anyString())).thenReturn(cashFlowPostings);
-        doThrow(KafkaProduceException.class).when(payoutKafkaProducerService).send(any());
-        PayoutParams payoutParams = new PayoutParams(
-                new ShopParams("partyId", "shopId"),
-                new Cash(100L,
-                        new CurrencyRef("RUB")));
-        assertThrows(
-                KafkaProduceException.class,
-                () -> payoutManagementHandler.createPayout(payoutParams));
-    }
-
     public static class Initializer extends ConfigDataApplicationContextInitializer {
 
         @Override
@@ -0,0 +1,77 @@
+package dev.vality.payout.manager.kafka;
+
+import dev.vality.payout.manager.Event;
+import dev.vality.payout.manager.config.KafkaPostgresqlSpringBootITest;
+import dev.vality.payout.manager.dao.CashFlowPostingDao;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.service.PayoutEventService;
+import dev.vality.testcontainers.annotations.kafka.config.KafkaConsumer;
+import org.junit.jupiter.api.Test;
+import org.rnorth.ducttape.unreliables.Unreliables;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.randomStreamOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@KafkaPostgresqlSpringBootITest
+public class PayoutEventRelayTest {
+
+    private static final int TIMEOUT = 10;
+
+    @Value("${kafka.topic.pm-events-payout.name}")
+    private String topicName;
+
+    @Autowired
+    private PayoutDao payoutDao;
+    @Autowired
+    private CashFlowPostingDao cashFlowPostingDao;
+    @Autowired
+    private PayoutEventService payoutEventService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private KafkaConsumer<Event> testPayoutEventKafkaConsumer;
+
+    @Test
+    public void shouldRelayEventsInSequenceOrder() {
+        String payoutId = generatePayoutId();
+        transactionTemplate.executeWithoutResult(status -> {
+            Payout payout = random(Payout.class, "id");
+            payout.setPayoutId(payoutId);
+            payout.setSequenceId(0);
+            payout.setStatus(PayoutStatus.UNPAID);
+            payoutDao.save(payout);
+            List<CashFlowPosting> cashFlowPostings = randomStreamOf(2, CashFlowPosting.class, "id")
+                    .peek(cashFlowPosting -> cashFlowPosting.setPayoutId(payoutId))
+                    .collect(Collectors.toList());
+            cashFlowPostingDao.save(cashFlowPostings);
+            payoutEventService.save(payoutId);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            payoutDao.changeStatus(payoutId, PayoutStatus.CONFIRMED);
+            payoutEventService.save(payoutId);
+        });
+        List<Event> readEvents = new CopyOnWriteArrayList<>();
+        testPayoutEventKafkaConsumer.read(topicName, data -> {
+            if (payoutId.equals(data.value().getPayoutId())) {
+                readEvents.add(data.value());
+            }
+        });
+        Unreliables.retryUntilTrue(TIMEOUT, TimeUnit.SECONDS, () -> readEvents.size() == 2);
+        assertEquals(0, readEvents.get(0).getSequenceId());
+        assertEquals(1, readEvents.get(1).getSequenceId());
+        assertEquals(0, payoutEventService.relay());
+    }
+}
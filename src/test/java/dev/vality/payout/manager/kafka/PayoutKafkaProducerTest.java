@@ -38,6 +38,7 @@ public class PayoutKafkaProducerTest {
     @Test
     public void shouldProduceEvents() {
         int expected = 4;
+        List<Event> events = new ArrayList<>();
         for (int i = 0; i < expected; i++) {
             Integer id = i + 1;
             Payout payout = random(Payout.class);
@@ -46,9 +47,9 @@ public class PayoutKafkaProducerTest {
             List<CashFlowPosting> cashFlowPostings = randomStreamOf(4, CashFlowPosting.class)
                     .peek(cashFlowPosting -> cashFlowPosting.setPayoutId(payout.getPayoutId()))
                     .collect(Collectors.toList());
-            Event event = ThriftUtil.createEvent(payout, cashFlowPostings);
-            payoutKafkaProducerService.send(event);
+            events.add(ThriftUtil.createEvent(payout, cashFlowPostings));
         }
+        payoutKafkaProducerService.send(events);
         List<Event> readEvents = new ArrayList<>();
         testPayoutEventKafkaConsumer.read(topicName, data -> readEvents.add(data.value()));
         Unreliables.retryUntilTrue(TIMEOUT, TimeUnit.SECONDS, () -> readEvents.size() == expected);
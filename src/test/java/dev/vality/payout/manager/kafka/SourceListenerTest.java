@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
@@ -49,7 +50,7 @@ public class SourceListenerTest {
         var sinkEvent = new SinkEvent();
         sinkEvent.setEvent(message);
         testThriftKafkaProducer.send(sourceTopicName, sinkEvent);
-        verify(sourceService, timeout(5000).times(1)).handleEvents(arg.capture());
+        verify(sourceService, timeout(5000).times(1)).handleEvents(arg.capture(), any());
         Assertions.assertEquals(message, arg.getValue().get(0));
     }
 }
@@ -0,0 +1,92 @@
+package dev.vality.payout.manager.load;
+
+import dev.vality.woody.thrift.impl.http.THServiceBuilder;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class DependencyStubs {
+
+    private final Tomcat tomcat = new Tomcat();
+    private final Context context;
+
+    public DependencyStubs() throws IOException {
+        tomcat.setBaseDir(Files.createTempDirectory("dependency-stubs").toString());
+        tomcat.setPort(0);
+        context = tomcat.addContext("", null);
+    }
+
+    public <T> void register(String name, Class<T> iface, T handler) {
+        var profile = Profile.fromSystemProperties(name);
+        Tomcat.addServlet(context, name, new THServiceBuilder().build(iface, withFaults(iface, handler, profile)));
+        context.addServletMappingDecoded("/" + name, name);
+    }
+
+    public void start() throws LifecycleException {
+        tomcat.getConnector();
+        tomcat.start();
+    }
+
+    public String url(String name) {
+        return "http://localhost:" + tomcat.getConnector().getLocalPort() + "/" + name;
+    }
+
+    public void stop() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T withFaults(Class<T> iface, T handler, Profile profile) {
+        return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(handler, args);
+            }
+            profile.delay();
+            if (profile.shouldFail()) {
+                throw new IllegalStateException("Injected fault, method=" + method.getName());
+            }
+            try {
+                return method.invoke(handler, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+
+    private static final class Profile {
+
+        private final long minLatencyMicros;
+        private final long meanLatencyMicros;
+        private final double errorRate;
+
+        private Profile(long minLatencyMicros, long meanLatencyMicros, double errorRate) {
+            this.minLatencyMicros = minLatencyMicros;
+            this.meanLatencyMicros = meanLatencyMicros;
+            this.errorRate = errorRate;
+        }
+
+        private static Profile fromSystemProperties(String name) {
+            return new Profile(
+                    TimeUnit.MILLISECONDS.toMicros(Long.getLong("load." + name + ".minLatency", 2)),
+                    TimeUnit.MILLISECONDS.toMicros(Long.getLong("load." + name + ".meanLatency", 5)),
+                    Double.parseDouble(System.getProperty("load." + name + ".errorRate", "0")));
+        }
+
+        private void delay() throws InterruptedException {
+            double exponential = -Math.log(1 - ThreadLocalRandom.current().nextDouble());
+            TimeUnit.MICROSECONDS.sleep(minLatencyMicros + (long) (exponential * meanLatencyMicros));
+        }
+
+        private boolean shouldFail() {
+            return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        }
+    }
+}
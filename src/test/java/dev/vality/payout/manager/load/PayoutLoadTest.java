@@ -0,0 +1,309 @@
+package dev.vality.payout.manager.load;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.vality.damsel.accounter.Account;
+import dev.vality.damsel.accounter.AccounterSrv;
+import dev.vality.damsel.accounter.PostingPlanLog;
+import dev.vality.damsel.domain.*;
+import dev.vality.damsel.payment_processing.PartyManagementSrv;
+import dev.vality.fistful.deposit.DepositState;
+import dev.vality.fistful.deposit.ManagementSrv;
+import dev.vality.payout.manager.Event;
+import dev.vality.payout.manager.PayoutManagementSrv;
+import dev.vality.payout.manager.PayoutParams;
+import dev.vality.payout.manager.ShopParams;
+import dev.vality.payout.manager.config.KafkaPostgresqlSpringBootITest;
+import dev.vality.payout.manager.service.SourceRegistry;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import dev.vality.woody.thrift.impl.http.THSpawnClientBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@KafkaPostgresqlSpringBootITest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+public class PayoutLoadTest {
+
+    private static final int RATE = Integer.getInteger("load.rate", 50);
+    private static final int DURATION = Integer.getInteger("load.duration", 60);
+    private static final int PARTIES = Integer.getInteger("load.parties", 100);
+    private static final double CANCEL_RATIO = Double.parseDouble(System.getProperty("load.cancelRatio", "0.2"));
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.threads.virtual");
+    private static final long DRAIN_TIMEOUT = 60;
+    private static final long SAMPLE_PERIOD = 100;
+    private static final String SHOP_ID = "shopId";
+    private static final String CURRENCY = "RUB";
+    private static final List<String> PRODUCER_METRICS = List.of(
+            "buffer-available-bytes", "waiting-threads", "record-queue-time-avg", "record-queue-time-max",
+            "record-send-rate", "batch-size-avg", "request-latency-avg", "record-error-rate");
+
+    private static final AccounterSrv.Iface accounter = mock(AccounterSrv.Iface.class);
+    private static final PartyManagementSrv.Iface partyManagement = mock(PartyManagementSrv.Iface.class);
+    private static final ManagementSrv.Iface deposit = mock(ManagementSrv.Iface.class);
+    private static DependencyStubs dependencyStubs;
+
+    @MockBean
+    private SourceRegistry sourceRegistry;
+
+    @Value("${local.server.port}")
+    private int serverPort;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private KafkaTemplate<String, Event> kafkaTemplate;
+
+    private final Map<String, Operation> operations = Map.of(
+            "create", new Operation(),
+            "confirm", new Operation(),
+            "cancel", new Operation());
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAccumulator maxInFlight = new LongAccumulator(Long::max, 0);
+    private PayoutManagementSrv.Iface payoutManagementClient;
+
+    @DynamicPropertySource
+    static void dependencyStubProperties(DynamicPropertyRegistry registry) throws Exception {
+        stubDependencies();
+        dependencyStubs = new DependencyStubs();
+        dependencyStubs.register("accounter", AccounterSrv.Iface.class, accounter);
+        dependencyStubs.register("partymgmt", PartyManagementSrv.Iface.class, partyManagement);
+        dependencyStubs.register("deposit", ManagementSrv.Iface.class, deposit);
+        dependencyStubs.start();
+        registry.add("service.shumway.url", () -> dependencyStubs.url("accounter"));
+        registry.add("service.partyManagement.url", () -> dependencyStubs.url("partymgmt"));
+        registry.add("service.fistful.deposit.url", () -> dependencyStubs.url("deposit"));
+        registry.add("payout.threads.virtual", () -> VIRTUAL_THREADS);
+    }
+
+    @AfterAll
+    static void stopDependencyStubs() throws Exception {
+        dependencyStubs.stop();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        payoutManagementClient = new THSpawnClientBuilder()
+                .withAddress(URI.create("http://localhost:" + serverPort + "/payout/management"))
+                .withNetworkTimeout(30000)
+                .build(PayoutManagementSrv.Iface.class);
+    }
+
+    @Test
+    public void shouldSustainOpenLoopRate() throws Exception {
+        when(sourceRegistry.getAuthorizedSourceId(anyString())).thenReturn("sourceId");
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        var poolSampler = new PoolSampler(pool);
+        ExecutorService workers = Executors.newCachedThreadPool();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        long period = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = (long) RATE * DURATION;
+        var arrivals = new AtomicLong();
+        long start = System.nanoTime();
+        scheduler.scheduleAtFixedRate(poolSampler, 0, SAMPLE_PERIOD, TimeUnit.MILLISECONDS);
+        var arrivalsDone = new CountDownLatch(1);
+        scheduler.scheduleAtFixedRate(() -> {
+            long arrival = arrivals.getAndIncrement();
+            if (arrival >= total) {
+                arrivalsDone.countDown();
+                return;
+            }
+            long intendedStart = start + arrival * period;
+            workers.execute(() -> runScenario(arrival, intendedStart));
+        }, 0, period, TimeUnit.NANOSECONDS);
+
+        arrivalsDone.await();
+        workers.shutdown();
+        boolean drained = workers.awaitTermination(DRAIN_TIMEOUT, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+        scheduler.shutdownNow();
+
+        report(elapsed, poolSampler);
+        assertTrue(drained, "In-flight requests have not drained");
+        assertTrue(operations.get("create").succeeded.sum() > 0, "No payout has been created");
+    }
+
+    private void runScenario(long arrival, long intendedStart) {
+        maxInFlight.accumulate(inFlight.incrementAndGet());
+        try {
+            var partyId = "party-" + arrival % PARTIES;
+            var payoutParams = new PayoutParams(
+                    new ShopParams(partyId, SHOP_ID),
+                    new Cash(100L, new CurrencyRef(CURRENCY)));
+            var payout = operations.get("create").record(intendedStart,
+                    () -> payoutManagementClient.createPayout(payoutParams));
+            if (payout == null) {
+                return;
+            }
+            var payoutId = payout.getPayoutId();
+            if (ThreadLocalRandom.current().nextDouble() < CANCEL_RATIO) {
+                operations.get("cancel").record(System.nanoTime(), () -> {
+                    payoutManagementClient.cancelPayout(payoutId, "load");
+                    return payoutId;
+                });
+            } else {
+                operations.get("confirm").record(System.nanoTime(), () -> {
+                    payoutManagementClient.confirmPayout(payoutId);
+                    return payoutId;
+                });
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void report(long elapsed, PoolSampler poolSampler) throws Exception {
+        var threads = VIRTUAL_THREADS ? "virtual" : "platform";
+        var reportDir = Files.createDirectories(Path.of("target", "load", threads));
+        double seconds = elapsed / (double) TimeUnit.SECONDS.toNanos(1);
+        log.info("Payout load, threads={}, rate={}, duration={}, elapsedSeconds={}, maxInFlight={}",
+                threads, RATE, DURATION, String.format("%.1f", seconds), maxInFlight.get());
+        for (var entry : operations.entrySet()) {
+            var name = entry.getKey();
+            var operation = entry.getValue();
+            Histogram latency = operation.latency;
+            log.info("Payout load operation, operation={}, succeeded={}, failed={}, throughput={}, " +
+                            "p50Ms={}, p90Ms={}, p99Ms={}, p999Ms={}, maxMs={}, errors={}",
+                    name, operation.succeeded.sum(), operation.errors.values().stream().mapToLong(LongAdder::sum).sum(),
+                    String.format("%.1f", operation.succeeded.sum() / seconds),
+                    toMillis(latency.getValueAtPercentile(50)), toMillis(latency.getValueAtPercentile(90)),
+                    toMillis(latency.getValueAtPercentile(99)), toMillis(latency.getValueAtPercentile(99.9)),
+                    toMillis(latency.getMaxValue()), operation.errors);
+            try (var out = new PrintStream(reportDir.resolve(name + ".hgrm").toFile())) {
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        log.info("Payout load hikari, maxActive={}, maxPending={}, avgPending={}, total={}",
+                poolSampler.maxActive.get(), poolSampler.maxPending.get(),
+                String.format("%.2f", poolSampler.pending.sum() / (double) Math.max(1, poolSampler.samples.sum())),
+                poolSampler.pool.getTotalConnections());
+        Map<MetricName, ? extends Metric> producerMetrics = kafkaTemplate.metrics();
+        producerMetrics.forEach((metricName, metric) -> {
+            if ("producer-metrics".equals(metricName.group()) && PRODUCER_METRICS.contains(metricName.name())) {
+                log.info("Payout load kafka producer, metric={}, value={}", metricName.name(), metric.metricValue());
+            }
+        });
+    }
+
+    private static String toMillis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    private static void stubDependencies() throws Exception {
+        PayoutTool payoutTool = RandomBeans.randomThriftOnlyRequiredFields(PayoutTool.class);
+        payoutTool.setPayoutToolInfo(PayoutToolInfo.wallet_info(new WalletInfo("walletId")));
+        Contract contract = RandomBeans.randomThriftOnlyRequiredFields(Contract.class);
+        contract.getPayoutTools().add(payoutTool);
+        Shop shop = RandomBeans.randomThriftOnlyRequiredFields(Shop.class);
+        shop.setId(SHOP_ID);
+        shop.setContractId(contract.getId());
+        shop.setPayoutToolId(payoutTool.getId());
+        shop.setAccount(RandomBeans.randomThriftOnlyRequiredFields(ShopAccount.class));
+        Party party = RandomBeans.randomThriftOnlyRequiredFields(Party.class);
+        party.getContracts().put(contract.getId(), contract);
+        party.setShops(Map.of(SHOP_ID, shop));
+        when(partyManagement.get(anyString()))
+                .thenAnswer(invocation -> new Party(party).setId(invocation.getArgument(0)));
+        when(partyManagement.computePayoutCashFlow(anyString(), any())).thenReturn(List.of(
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.payout), 100L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.payout),
+                        CashFlowAccount.merchant(MerchantCashFlowAccount.settlement), 1L),
+                posting(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                        CashFlowAccount.system(SystemCashFlowAccount.settlement), 1L)));
+        var settlement = shop.getAccount().getSettlement();
+        var postingPlanLog = new PostingPlanLog(Map.of(settlement, new Account(settlement, 1, 1, 1, CURRENCY)));
+        when(accounter.hold(any())).thenReturn(postingPlanLog);
+        when(accounter.commitPlan(any())).thenReturn(postingPlanLog);
+        when(accounter.rollbackPlan(any())).thenReturn(postingPlanLog);
+        when(deposit.create(any(), any())).thenReturn(RandomBeans.randomThriftOnlyRequiredFields(DepositState.class));
+    }
+
+    private static FinalCashFlowPosting posting(CashFlowAccount source, CashFlowAccount destination, long amount) {
+        FinalCashFlowPosting posting = RandomBeans.randomThriftOnlyRequiredFields(FinalCashFlowPosting.class);
+        posting.getSource().setAccountType(source);
+        posting.getDestination().setAccountType(destination);
+        posting.getVolume().setAmount(amount);
+        posting.getVolume().setCurrency(new CurrencyRef(CURRENCY));
+        return posting;
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+
+        T call() throws Exception;
+    }
+
+    private static final class Operation {
+
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder succeeded = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private <T> T record(long startedAt, Call<T> call) {
+            try {
+                T result = call.call();
+                succeeded.increment();
+                return result;
+            } catch (Exception ex) {
+                errors.computeIfAbsent(ex.getClass().getSimpleName(), key -> new LongAdder()).increment();
+                return null;
+            } finally {
+                latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+            }
+        }
+    }
+
+    private static final class PoolSampler implements Runnable {
+
+        private final HikariPoolMXBean pool;
+        private final LongAccumulator maxActive = new LongAccumulator(Long::max, 0);
+        private final LongAccumulator maxPending = new LongAccumulator(Long::max, 0);
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+
+        private PoolSampler(HikariPoolMXBean pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            maxActive.accumulate(pool.getActiveConnections());
+            maxPending.accumulate(pool.getThreadsAwaitingConnection());
+            pending.add(pool.getThreadsAwaitingConnection());
+            samples.increment();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.vality.payout.manager.serde;
+
+import dev.vality.fistful.account.Account;
+import dev.vality.fistful.account.AccountChange;
+import dev.vality.fistful.base.CurrencyRef;
+import dev.vality.fistful.source.*;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import lombok.SneakyThrows;
+import org.apache.thrift.TSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimestampedChangeLightDeserializerTest {
+
+    private final TimestampedChangeDeserializer deserializer = new TimestampedChangeDeserializer();
+    private final TimestampedChangeLightDeserializer lightDeserializer =
+            new TimestampedChangeLightDeserializer(deserializer);
+
+    @Test
+    public void shouldDecodeCreatedChange() {
+        Change change = lightDeserializer.deserialize(
+                serialize(Change.created(RandomBeans.randomThriftOnlyRequiredFields(Source.class)))).getChange();
+        assertTrue(change.isSetCreated());
+    }
+
+    @Test
+    public void shouldDecodeAccountCurrencyCode() {
+        Account account = RandomBeans.randomThriftOnlyRequiredFields(Account.class);
+        account.setCurrency(new CurrencyRef("RUB"));
+        Change change = lightDeserializer.deserialize(serialize(Change.account(AccountChange.created(account))))
+                .getChange();
+        assertEquals("RUB", change.getAccount().getCreated().getCurrency().getSymbolicCode());
+    }
+
+    @Test
+    public void shouldDecodeStatus() {
+        byte[] authorized = serialize(Change.status(new StatusChange(Status.authorized(new Authorized()))));
+        byte[] unauthorized = serialize(Change.status(new StatusChange(Status.unauthorized(new Unauthorized()))));
+        assertEquals(deserializer.deserialize(authorized).getChange(),
+                lightDeserializer.deserialize(authorized).getChange());
+        assertEquals(deserializer.deserialize(unauthorized).getChange(),
+                lightDeserializer.deserialize(unauthorized).getChange());
+    }
+
+    @SneakyThrows
+    private byte[] serialize(Change change) {
+        return new TSerializer().serialize(new TimestampedChange(Instant.now().toString(), change));
+    }
+}
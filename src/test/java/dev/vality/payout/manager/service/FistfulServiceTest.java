@@ -3,9 +3,6 @@ package dev.vality.payout.manager.service;
 import dev.vality.fistful.SourceNotFound;
 import dev.vality.fistful.deposit.DepositState;
 import dev.vality.fistful.deposit.ManagementSrv;
-import dev.vality.payout.manager.dao.SourceDao;
-import dev.vality.payout.manager.domain.enums.SourceStatus;
-import dev.vality.payout.manager.domain.tables.pojos.Source;
 import dev.vality.payout.manager.exception.NotFoundException;
 import org.apache.thrift.TException;
 import org.junit.jupiter.api.Test;
@@ -39,7 +36,7 @@ public class FistfulServiceTest {
     @MockBean
     private ManagementSrv.Iface fistfulDepositClient;
     @MockBean
-    private SourceDao sourceDao;
+    private SourceRegistry sourceRegistry;
 
     @Autowired
     private FistfulService fistfulService;
@@ -47,16 +44,14 @@ public class FistfulServiceTest {
     @Test
     public void shouldCreate() throws TException {
         when(fistfulDepositClient.create(any(), any())).thenReturn(new DepositState());
-        when(sourceDao.getAuthorizedByCurrencyCode(any())).thenReturn(
-                new Source(0L, "id", SourceStatus.AUTHORIZED, "id"));
+        when(sourceRegistry.getAuthorizedSourceId(any())).thenReturn("id");
         assertNotNull(fistfulService.createDeposit("payoutId", "walletId", 1L, "currencyCode"));
     }
 
     @Test
     public void shouldThrowException() throws TException {
         when(fistfulDepositClient.create(any(), any())).thenThrow(SourceNotFound.class);
-        when(sourceDao.getAuthorizedByCurrencyCode(any())).thenReturn(
-                new Source(0L, "id", SourceStatus.AUTHORIZED, "id"));
+        when(sourceRegistry.getAuthorizedSourceId(any())).thenReturn("id");
         assertThrows(NotFoundException.class, () ->
                 fistfulService.createDeposit("payoutId", "walletId", 1L, "currencyCode"));
     }
@@ -0,0 +1,139 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.domain.*;
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.dao.PartyPayoutToolDao;
+import dev.vality.payout.manager.dao.PartyRevisionDao;
+import dev.vality.payout.manager.dao.PartyShopDao;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import dev.vality.payout.manager.domain.tables.pojos.PartyRevision;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@PostgresqlSpringBootITest
+public class PartyProjectionServiceTest {
+
+    @MockBean
+    private PartyManagementService partyManagementService;
+
+    @Autowired
+    private PartyShopDao partyShopDao;
+    @Autowired
+    private PartyPayoutToolDao partyPayoutToolDao;
+    @Autowired
+    private PartyRevisionDao partyRevisionDao;
+    @Autowired
+    private PartyProjectionService partyProjectionService;
+
+    @Test
+    public void shouldGetFromProjection() {
+        PartyShop partyShop = random(PartyShop.class, "id");
+        partyShop.setPartyId(generatePayoutId());
+        partyShopDao.save(partyShop);
+        PartyPayoutTool partyPayoutTool = random(PartyPayoutTool.class, "id");
+        partyPayoutTool.setPartyId(partyShop.getPartyId());
+        partyPayoutTool.setContractId(partyShop.getContractId());
+        partyPayoutTool.setPayoutToolId(partyShop.getPayoutToolId());
+        partyPayoutToolDao.save(partyPayoutTool);
+        saveRevision(partyShop.getPartyId(), 5L);
+        when(partyManagementService.getRevision(eq(partyShop.getPartyId()))).thenReturn(5L);
+        var shopPayoutTool = partyProjectionService.getShopPayoutTool(
+                partyShop.getPartyId(), partyShop.getShopId(), null);
+        assertEquals(partyShop.getSettlementAccountId(), shopPayoutTool.getShop().getSettlementAccountId());
+        assertEquals(partyPayoutTool.getPayoutToolInfo(), shopPayoutTool.getPayoutTool().getPayoutToolInfo());
+        assertEquals(partyPayoutTool.getWalletId(), shopPayoutTool.getPayoutTool().getWalletId());
+        verify(partyManagementService, never()).getParty(anyString());
+    }
+
+    @Test
+    public void shouldFallbackToPartyManagementOnMiss() {
+        String partyId = generatePayoutId();
+        PayoutTool payoutTool = RandomBeans.randomThriftOnlyRequiredFields(PayoutTool.class);
+        payoutTool.setPayoutToolInfo(PayoutToolInfo.wallet_info(new WalletInfo("walletId")));
+        Contract contract = RandomBeans.randomThriftOnlyRequiredFields(Contract.class);
+        contract.setPayoutTools(List.of(payoutTool));
+        Shop shop = RandomBeans.randomThriftOnlyRequiredFields(Shop.class);
+        shop.setContractId(contract.getId());
+        shop.setPayoutToolId(payoutTool.getId());
+        shop.setAccount(RandomBeans.randomThriftOnlyRequiredFields(ShopAccount.class));
+        Party party = RandomBeans.randomThriftOnlyRequiredFields(Party.class);
+        party.setId(partyId);
+        party.setShops(Map.of("shopId", shop));
+        party.setContracts(Map.of(contract.getId(), contract));
+        when(partyManagementService.getParty(eq(partyId))).thenReturn(party);
+        var shopPayoutTool = partyProjectionService.getShopPayoutTool(partyId, "shopId", null);
+        assertEquals(shop.getAccount().getSettlement(), shopPayoutTool.getShop().getSettlementAccountId());
+        assertEquals(payoutTool.getId(), shopPayoutTool.getPayoutTool().getPayoutToolId());
+        assertEquals("walletId", shopPayoutTool.getPayoutTool().getWalletId());
+        verify(partyManagementService, times(1)).getParty(eq(partyId));
+        assertThrows(
+                NotFoundException.class,
+                () -> partyProjectionService.getShopPayoutTool(partyId, "shopId", "wrongToolId"));
+        shop.setPayoutToolId(null);
+        assertThrows(
+                InvalidRequestException.class,
+                () -> partyProjectionService.getShopPayoutTool(partyId, "shopId", null));
+    }
+
+    @Test
+    public void shouldFallbackToPartyManagementOnStaleRevision() {
+        String partyId = generatePayoutId();
+        PayoutTool payoutTool = RandomBeans.randomThriftOnlyRequiredFields(PayoutTool.class);
+        payoutTool.setPayoutToolInfo(PayoutToolInfo.wallet_info(new WalletInfo("newWalletId")));
+        Contract contract = RandomBeans.randomThriftOnlyRequiredFields(Contract.class);
+        contract.setPayoutTools(List.of(payoutTool));
+        Shop shop = RandomBeans.randomThriftOnlyRequiredFields(Shop.class);
+        shop.setContractId(contract.getId());
+        shop.setPayoutToolId(payoutTool.getId());
+        shop.setAccount(RandomBeans.randomThriftOnlyRequiredFields(ShopAccount.class));
+        Party party = RandomBeans.randomThriftOnlyRequiredFields(Party.class);
+        party.setId(partyId);
+        party.setShops(Map.of("shopId", shop));
+        party.setContracts(Map.of(contract.getId(), contract));
+        PartyShop partyShop = random(PartyShop.class, "id");
+        partyShop.setPartyId(partyId);
+        partyShop.setShopId("shopId");
+        partyShop.setContractId(contract.getId());
+        partyShop.setPayoutToolId(payoutTool.getId());
+        partyShopDao.save(partyShop);
+        PartyPayoutTool partyPayoutTool = random(PartyPayoutTool.class, "id");
+        partyPayoutTool.setPartyId(partyId);
+        partyPayoutTool.setContractId(contract.getId());
+        partyPayoutTool.setPayoutToolId(payoutTool.getId());
+        partyPayoutTool.setWalletId("oldWalletId");
+        partyPayoutToolDao.save(partyPayoutTool);
+        saveRevision(partyId, 5L);
+        when(partyManagementService.getRevision(eq(partyId))).thenReturn(6L);
+        when(partyManagementService.getParty(eq(partyId))).thenReturn(party);
+
+        var shopPayoutTool = partyProjectionService.getShopPayoutTool(partyId, "shopId", null);
+
+        assertEquals(shop.getAccount().getSettlement(), shopPayoutTool.getShop().getSettlementAccountId());
+        assertEquals("newWalletId", shopPayoutTool.getPayoutTool().getWalletId());
+        verify(partyManagementService, times(1)).getParty(eq(partyId));
+    }
+
+    private void saveRevision(String partyId, long revision) {
+        PartyRevision partyRevision = new PartyRevision();
+        partyRevision.setPartyId(partyId);
+        partyRevision.setRevision(revision);
+        partyRevision.setEventId(1L);
+        partyRevisionDao.save(partyRevision);
+    }
+}
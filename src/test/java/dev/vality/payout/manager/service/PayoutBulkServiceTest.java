@@ -0,0 +1,171 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.accounter.Account;
+import dev.vality.damsel.accounter.PostingPlanLog;
+import dev.vality.damsel.domain.*;
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.model.PayoutBulkItem;
+import dev.vality.payout.manager.model.PayoutBulkResult;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@PostgresqlSpringBootITest
+public class PayoutBulkServiceTest {
+
+    private static final String DETAILS = "details";
+
+    @MockBean
+    private ShumwayService shumwayService;
+    @MockBean
+    private PartyManagementService partyManagementService;
+    @MockBean
+    private FistfulService fistfulService;
+
+    @Autowired
+    private PayoutBulkService payoutBulkService;
+    @Autowired
+    private PayoutService payoutService;
+    @Autowired
+    private CashFlowPostingService cashFlowPostingService;
+
+    @Test
+    public void shouldCreatePayoutsAndReportPerItem() {
+        String partyId = UUID.randomUUID().toString();
+        Shop shop = mockParty(partyId);
+        String failedHoldPayoutId = generatePayoutId();
+        when(shumwayService.hold(anyString(), anyList())).thenReturn(getPostingPlanLog(shop));
+        when(shumwayService.hold(eq(failedHoldPayoutId), anyList())).thenThrow(new RuntimeException("hold"));
+        String existingPayoutId = payoutService.create(partyId, shop.getId(), buildCash(), null, null);
+
+        List<PayoutBulkResult> results = payoutBulkService.create(List.of(
+                buildItem(partyId, shop.getId(), null, 100L),
+                buildItem(partyId, shop.getId(), generatePayoutId(), 100L),
+                buildItem(partyId, shop.getId(), generatePayoutId(), 0L),
+                buildItem(partyId, shop.getId(), existingPayoutId, 100L),
+                buildItem(partyId, shop.getId(), failedHoldPayoutId, 100L)));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSucceeded());
+        assertTrue(results.get(1).isSucceeded());
+        assertFalse(results.get(2).isSucceeded());
+        assertFalse(results.get(3).isSucceeded());
+        assertEquals(existingPayoutId, results.get(3).getPayoutId());
+        assertFalse(results.get(4).isSucceeded());
+        for (PayoutBulkResult result : results.subList(0, 2)) {
+            var payout = payoutService.get(result.getPayoutId());
+            assertEquals(PayoutStatus.UNPAID, payout.getStatus());
+            assertEquals(4L, payout.getAmount());
+            assertEquals(2L, payout.getFee());
+            assertEquals(3, cashFlowPostingService.getCashFlowPostings(result.getPayoutId()).size());
+        }
+        assertThrows(NotFoundException.class, () -> payoutService.get(failedHoldPayoutId));
+        verify(partyManagementService, times(2)).getParty(eq(partyId));
+        verify(shumwayService, times(4)).hold(anyString(), anyList());
+    }
+
+    @Test
+    public void shouldConfirmAndCancelPayouts() {
+        String partyId = UUID.randomUUID().toString();
+        Shop shop = mockParty(partyId);
+        when(shumwayService.hold(anyString(), anyList())).thenReturn(getPostingPlanLog(shop));
+        List<String> payoutIds = payoutBulkService.create(List.of(
+                        buildItem(partyId, shop.getId(), null, 100L),
+                        buildItem(partyId, shop.getId(), null, 100L),
+                        buildItem(partyId, shop.getId(), null, 100L))).stream()
+                .map(PayoutBulkResult::getPayoutId)
+                .toList();
+        String unknownPayoutId = generatePayoutId();
+
+        List<PayoutBulkResult> confirmed = payoutBulkService.confirm(
+                List.of(payoutIds.get(1), payoutIds.get(0), unknownPayoutId));
+
+        assertEquals(3, confirmed.size());
+        assertTrue(confirmed.get(0).isSucceeded());
+        assertTrue(confirmed.get(1).isSucceeded());
+        assertFalse(confirmed.get(2).isSucceeded());
+        assertEquals(PayoutStatus.CONFIRMED, payoutService.get(payoutIds.get(0)).getStatus());
+        assertEquals(1, payoutService.get(payoutIds.get(0)).getSequenceId());
+        verify(shumwayService, times(2)).commit(anyString(), argThat(postings -> postings.size() == 3));
+
+        List<PayoutBulkResult> cancelled = payoutBulkService.cancel(payoutIds, DETAILS);
+
+        assertFalse(cancelled.get(0).isSucceeded());
+        assertFalse(cancelled.get(1).isSucceeded());
+        assertTrue(cancelled.get(2).isSucceeded());
+        var cancelledPayout = payoutService.get(payoutIds.get(2));
+        assertEquals(PayoutStatus.CANCELLED, cancelledPayout.getStatus());
+        assertEquals(DETAILS, cancelledPayout.getCancelDetails());
+        verify(shumwayService).rollback(eq(payoutIds.get(2)), anyList());
+    }
+
+    @Test
+    public void shouldRejectEmptyBulk() {
+        assertThrows(InvalidRequestException.class, () -> payoutBulkService.create(List.of()));
+    }
+
+    private Shop mockParty(String partyId) {
+        PayoutTool payoutTool = RandomBeans.randomThriftOnlyRequiredFields(PayoutTool.class);
+        payoutTool.setPayoutToolInfo(PayoutToolInfo.wallet_info(new WalletInfo("id12s")));
+        Contract contract = RandomBeans.randomThriftOnlyRequiredFields(Contract.class);
+        contract.getPayoutTools().add(payoutTool);
+        Party party = RandomBeans.randomThriftOnlyRequiredFields(Party.class);
+        party.setId(partyId);
+        party.getContracts().put(contract.getId(), contract);
+        Shop shop = RandomBeans.randomThriftOnlyRequiredFields(Shop.class);
+        shop.setId("shopId");
+        shop.setContractId(contract.getId());
+        shop.setPayoutToolId(payoutTool.getId());
+        shop.setAccount(RandomBeans.randomThriftOnlyRequiredFields(ShopAccount.class));
+        party.setShops(Map.of(shop.getId(), shop));
+        when(partyManagementService.getParty(eq(partyId))).thenReturn(party);
+        FinalCashFlowPosting payoutAmount = RandomBeans.randomThriftOnlyRequiredFields(FinalCashFlowPosting.class);
+        payoutAmount.getSource().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement));
+        payoutAmount.getDestination().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.payout));
+        payoutAmount.getVolume().setAmount(5L);
+        FinalCashFlowPosting payoutFixedFee = new FinalCashFlowPosting(payoutAmount);
+        payoutFixedFee.getSource().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.payout));
+        payoutFixedFee.getDestination().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement));
+        payoutFixedFee.getVolume().setAmount(1L);
+        FinalCashFlowPosting fee = new FinalCashFlowPosting(payoutAmount);
+        fee.getSource().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement));
+        fee.getDestination().setAccountType(CashFlowAccount.system(SystemCashFlowAccount.settlement));
+        fee.getVolume().setAmount(1L);
+        when(partyManagementService.computePayoutCashFlow(
+                eq(partyId), eq(shop.getId()), any(), anyString(), anyString()))
+                .thenReturn(List.of(payoutAmount, payoutFixedFee, fee));
+        return shop;
+    }
+
+    private PayoutBulkItem buildItem(String partyId, String shopId, String payoutId, long amount) {
+        var item = new PayoutBulkItem();
+        item.setPayoutId(payoutId);
+        item.setPartyId(partyId);
+        item.setShopId(shopId);
+        item.setAmount(amount);
+        item.setCurrencyCode("RUB");
+        return item;
+    }
+
+    private PostingPlanLog getPostingPlanLog(Shop shop) {
+        var account = new Account(shop.getAccount().getSettlement(), 1, 1, 1, "RUB");
+        return new PostingPlanLog(Map.of(shop.getAccount().getSettlement(), account));
+    }
+
+    private Cash buildCash() {
+        return new Cash(100L, new CurrencyRef("RUB"));
+    }
+}
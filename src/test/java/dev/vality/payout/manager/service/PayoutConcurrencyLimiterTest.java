@@ -0,0 +1,135 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.woody.api.flow.error.WUnavailableResultException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {PayoutConcurrencyLimiter.class, PayoutConcurrencyLimiterTest.Config.class},
+        initializers = PayoutConcurrencyLimiterTest.Initializer.class
+)
+@TestPropertySource(
+        locations = "classpath:application.yml",
+        properties = {
+                "payout.limiter.initialLimit=1",
+                "payout.limiter.minLimit=1",
+                "payout.limiter.maxLimit=1",
+                "payout.limiter.maxQueueSize=3",
+                "payout.limiter.maxQueuePerParty=2",
+                "payout.limiter.maxWait=5000"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PayoutConcurrencyLimiterTest {
+
+    @Autowired
+    private PayoutConcurrencyLimiter limiter;
+
+    @Test
+    public void shouldServePartiesRoundRobinAndRejectOverflowQuickly() throws Exception {
+        List<String> served = new CopyOnWriteArrayList<>();
+        var blocker = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        var running = CompletableFuture.runAsync(() -> call("party_a", "a0", served, blocker), executor);
+        waitFor(() -> limiter.getInFlight() == 1);
+        var queuedA1 = CompletableFuture.runAsync(() -> call("party_a", "a1", served, null), executor);
+        waitFor(() -> limiter.getQueued() == 1);
+        var queuedA2 = CompletableFuture.runAsync(() -> call("party_a", "a2", served, null), executor);
+        waitFor(() -> limiter.getQueued() == 2);
+        var queuedB1 = CompletableFuture.runAsync(() -> call("party_b", "b1", served, null), executor);
+        waitFor(() -> limiter.getQueued() == 3);
+
+        long start = System.nanoTime();
+        assertThrows(WUnavailableResultException.class, () -> limiter.execute("party_c", () -> "c1"));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+
+        blocker.countDown();
+        CompletableFuture.allOf(running, queuedA1, queuedA2, queuedB1).join();
+        executor.shutdown();
+        assertEquals(List.of("a0", "a1", "b1", "a2"), served);
+    }
+
+    @Test
+    public void shouldShrinkLimitWhenLatencyGrows() {
+        var limiter = new PayoutConcurrencyLimiter(
+                true, 20, 2, 50, 0.2, 1.5, 100, 20, 1000, new SimpleMeterRegistry());
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20);
+        }
+        double steadyLimit = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), (int) limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() < steadyLimit);
+    }
+
+    private void call(String partyId, String name, List<String> served, CountDownLatch blocker) {
+        try {
+            limiter.execute(partyId, () -> {
+                served.add(name);
+                if (blocker != null) {
+                    awaitUninterruptibly(blocker);
+                }
+                return name;
+            });
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Configuration
+    public static class Config {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    public static class Initializer extends ConfigDataApplicationContextInitializer {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+            super.initialize(configurableApplicationContext);
+        }
+    }
+}
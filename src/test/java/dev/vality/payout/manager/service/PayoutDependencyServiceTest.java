@@ -0,0 +1,97 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.damsel.domain.Cash;
+import dev.vality.damsel.domain.CurrencyRef;
+import dev.vality.damsel.domain.FinalCashFlowPosting;
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.domain.tables.pojos.PartyPayoutTool;
+import dev.vality.payout.manager.domain.tables.pojos.PartyShop;
+import dev.vality.payout.manager.exception.DependencyUnavailableException;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.model.ShopPayoutTool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@PostgresqlSpringBootITest
+public class PayoutDependencyServiceTest {
+
+    private static final long AWAIT_SECONDS = 5L;
+
+    @MockBean
+    private PartyProjectionService partyProjectionService;
+    @MockBean
+    private PartyManagementService partyManagementService;
+
+    @Autowired
+    private PayoutDependencyService payoutDependencyService;
+
+    @Test
+    public void shouldResolveConcurrentlyWhenPayoutToolIdIsSet() {
+        var shopPayoutTool = new ShopPayoutTool(random(PartyShop.class), random(PartyPayoutTool.class));
+        var bothStarted = new CountDownLatch(2);
+        when(partyProjectionService.getShopPayoutTool(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    awaitBoth(bothStarted);
+                    return shopPayoutTool;
+                });
+        when(partyManagementService.computePayoutCashFlow(anyString(), anyString(), any(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    awaitBoth(bothStarted);
+                    return List.of(new FinalCashFlowPosting());
+                });
+        var payoutDependencies = payoutDependencyService.resolve(
+                "partyId", "shopId", buildCash(), "payoutToolId", "2016-03-22T06:12:27Z");
+        assertEquals(shopPayoutTool, payoutDependencies.getShopPayoutTool());
+        assertEquals(1, payoutDependencies.getFinalCashFlowPostings().size());
+    }
+
+    @Test
+    public void shouldRejectWhenExecutorIsSaturated() {
+        var saturatedService = new PayoutDependencyService(
+                partyProjectionService,
+                partyManagementService,
+                new PayoutMetrics(new SimpleMeterRegistry()),
+                command -> {
+                    throw new RejectedExecutionException("Saturated");
+                });
+        assertThrows(
+                DependencyUnavailableException.class,
+                () -> saturatedService.resolve("partyId", "shopId", buildCash(), "payoutToolId",
+                        "2016-03-22T06:12:27Z"));
+        verifyNoInteractions(partyProjectionService, partyManagementService);
+    }
+
+    @Test
+    public void shouldRethrowDependencyException() {
+        when(partyProjectionService.getShopPayoutTool(anyString(), anyString(), isNull()))
+                .thenThrow(new NotFoundException("Shop not found"));
+        assertThrows(
+                NotFoundException.class,
+                () -> payoutDependencyService.resolve(
+                        "partyId", "shopId", buildCash(), null, "2016-03-22T06:12:27Z"));
+    }
+
+    private void awaitBoth(CountDownLatch bothStarted) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(AWAIT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Dependencies have not been resolved concurrently");
+        }
+    }
+
+    private Cash buildCash() {
+        return new Cash(100L, new CurrencyRef("RUB"));
+    }
+}
@@ -0,0 +1,94 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.dao.CashFlowPostingDao;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.tables.pojos.CashFlowPosting;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.exception.TooManyRequestsException;
+import dev.vality.payout.manager.model.PayoutExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.randomStreamOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PostgresqlSpringBootITest
+public class PayoutExportServiceTest {
+
+    private static final LocalDateTime FROM_TIME = LocalDateTime.of(1975, 1, 1, 0, 0);
+
+    @Autowired
+    private PayoutDao payoutDao;
+    @Autowired
+    private CashFlowPostingDao cashFlowPostingDao;
+    @Autowired
+    private PayoutExportService payoutExportService;
+
+    @Test
+    public void shouldExportPayoutsWithPostings() {
+        for (int i = 0; i < 3; i++) {
+            Payout payout = random(Payout.class, "id");
+            payout.setPayoutId(generatePayoutId());
+            payout.setCreatedAt(FROM_TIME.plusHours(i));
+            payoutDao.save(payout);
+            List<CashFlowPosting> cashFlowPostings = randomStreamOf(2, CashFlowPosting.class, "id")
+                    .peek(cashFlowPosting -> {
+                        cashFlowPosting.setPayoutId(payout.getPayoutId());
+                        cashFlowPosting.setCreatedAt(payout.getCreatedAt());
+                    })
+                    .collect(Collectors.toList());
+            cashFlowPostingDao.save(cashFlowPostings);
+        }
+
+        var ndjson = new ByteArrayOutputStream();
+        payoutExportService.export(FROM_TIME, FROM_TIME.plusHours(2), PayoutExportFormat.NDJSON, ndjson);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"payout_id\":"));
+
+        var csv = new ByteArrayOutputStream();
+        payoutExportService.export(FROM_TIME, FROM_TIME.plusHours(3), PayoutExportFormat.CSV, csv);
+        lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(7, lines.length);
+        assertTrue(lines[0].startsWith("payout_id,party_id,shop_id"));
+    }
+
+    @Test
+    public void shouldWriteCsvHeaderForEmptyExport() {
+        var csv = new ByteArrayOutputStream();
+        payoutExportService.export(FROM_TIME.minusYears(1), FROM_TIME, PayoutExportFormat.CSV, csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("payout_id,party_id,shop_id"));
+    }
+
+    @Test
+    public void shouldRejectExportsAboveConcurrencyLimit() {
+        payoutExportService.acquire();
+        payoutExportService.acquire();
+        try {
+            assertThrows(TooManyRequestsException.class, () -> payoutExportService.acquire());
+        } finally {
+            payoutExportService.release();
+            payoutExportService.release();
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidRange() {
+        assertThrows(
+                InvalidRequestException.class,
+                () -> payoutExportService.export(
+                        FROM_TIME, FROM_TIME, PayoutExportFormat.CSV, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,53 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PayoutMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PayoutMetrics payoutMetrics = new PayoutMetrics(meterRegistry);
+
+    @Test
+    public void shouldTagPhasesWithOutcome() {
+        assertEquals("ok", payoutMetrics.phase(PayoutMetrics.CREATE, "hold", () -> "ok"));
+        assertThrows(NotFoundException.class, () -> payoutMetrics.phase(PayoutMetrics.CREATE, "hold", () -> {
+            throw new NotFoundException("Shop not found");
+        }));
+
+        assertEquals(1, meterRegistry.get("payout.create.phase")
+                .tags("phase", "hold", "outcome", "success", "exception", "none")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("payout.create.phase")
+                .tags("phase", "hold", "outcome", "failure", "exception", "NotFoundException")
+                .timer().count());
+    }
+
+    @Test
+    public void shouldTrackInFlightOperations() {
+        payoutMetrics.operation(PayoutMetrics.CONFIRM, () -> assertEquals(1, meterRegistry.get("payout.inflight")
+                .tag("operation", PayoutMetrics.CONFIRM)
+                .gauge().value()));
+
+        assertEquals(0, meterRegistry.get("payout.inflight").tag("operation", PayoutMetrics.CONFIRM).gauge().value());
+        assertEquals(1, meterRegistry.get("payout.confirm.phase").tag("phase", "total").timer().count());
+    }
+
+    @Test
+    public void shouldCountStatusTransitions() {
+        payoutMetrics.transition(null, PayoutStatus.UNPAID, 3);
+        payoutMetrics.transition(PayoutStatus.UNPAID, PayoutStatus.CANCELLED);
+
+        assertEquals(3, meterRegistry.get("payout.status.transitions")
+                .tags("from", "none", "to", PayoutStatus.UNPAID.getLiteral())
+                .counter().count());
+        assertEquals(1, meterRegistry.get("payout.status.transitions")
+                .tags("from", PayoutStatus.UNPAID.getLiteral(), "to", PayoutStatus.CANCELLED.getLiteral())
+                .counter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.dao.PayoutDao;
+import dev.vality.payout.manager.domain.enums.PayoutStatus;
+import dev.vality.payout.manager.domain.tables.pojos.Payout;
+import dev.vality.payout.manager.exception.InvalidRequestException;
+import dev.vality.payout.manager.model.PayoutSearchFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generatePayoutId;
+import static dev.vality.testcontainers.annotations.util.RandomBeans.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PostgresqlSpringBootITest
+public class PayoutSearchServiceTest {
+
+    @Autowired
+    private PayoutDao payoutDao;
+    @Autowired
+    private PayoutSearchService payoutSearchService;
+
+    @Test
+    public void shouldPageThroughPayoutsWithContinuationToken() {
+        String partyId = UUID.randomUUID().toString();
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Payout payout = random(Payout.class, "id");
+            payout.setPayoutId(generatePayoutId());
+            payout.setPartyId(partyId);
+            payout.setShopId("shopId");
+            payout.setStatus(PayoutStatus.UNPAID);
+            payout.setCreatedAt(i < 2 ? createdAt : createdAt.plusSeconds(i));
+            payoutDao.save(payout);
+            expected.add(0, payout.getPayoutId());
+        }
+        var filter = new PayoutSearchFilter(partyId, "shopId", PayoutStatus.UNPAID, null, null, null);
+        List<String> found = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            var result = payoutSearchService.search(filter, 2, continuationToken);
+            assertTrue(result.getPayouts().size() <= 2);
+            result.getPayouts().forEach(payout -> found.add(payout.getPayoutId()));
+            continuationToken = result.getContinuationToken();
+        } while (continuationToken != null);
+        assertEquals(expected, found);
+
+        var cancelled = new PayoutSearchFilter(partyId, null, PayoutStatus.CANCELLED, null, null, null);
+        assertTrue(payoutSearchService.search(cancelled, null, null).getPayouts().isEmpty());
+        var window = new PayoutSearchFilter(partyId, null, null, null, createdAt, createdAt.plusSeconds(3));
+        assertEquals(3, payoutSearchService.search(window, null, null).getPayouts().size());
+    }
+
+    @Test
+    public void shouldRejectInvalidRequest() {
+        var filter = new PayoutSearchFilter(null, null, null, null, null, null);
+        assertThrows(InvalidRequestException.class, () -> payoutSearchService.search(filter, 0, null));
+        assertThrows(InvalidRequestException.class, () -> payoutSearchService.search(filter, 10, "broken"));
+    }
+}
@@ -2,6 +2,7 @@ package dev.vality.payout.manager.service;
 
 import dev.vality.damsel.accounter.Account;
 import dev.vality.damsel.accounter.PostingPlanLog;
+import dev.vality.damsel.base.InvalidRequest;
 import dev.vality.damsel.domain.*;
 import dev.vality.geck.serializer.kit.mock.MockMode;
 import dev.vality.geck.serializer.kit.mock.MockTBaseProcessor;
@@ -336,6 +337,57 @@ public class PayoutServiceTest {
                         buildCash(), null, null));
     }
 
+    @Test
+    public void shouldRetryFailedCreateWithSamePayoutId() {
+        PayoutTool payoutTool = getPayoutTool();
+        payoutTool.setPayoutToolInfo(PayoutToolInfo.wallet_info(new WalletInfo("id12s")));
+        Contract contract = getContract();
+        contract.getPayoutTools().add(payoutTool);
+        String partyId = "partyId";
+        Party party = getParty();
+        party.setId(partyId);
+        party.getContracts().put(contract.getId(), contract);
+        String shopId = "shopId";
+        Shop shop = getShop();
+        shop.setId(shopId);
+        shop.setContractId(contract.getId());
+        shop.setPayoutToolId(payoutTool.getId());
+        shop.setAccount(RandomBeans.randomThriftOnlyRequiredFields(ShopAccount.class));
+        party.setShops(Map.of(shopId, shop));
+        when(partyManagementService.getParty(eq(partyId))).thenReturn(party);
+        FinalCashFlowPosting finalCashFlowPosting = getFinalCashFlowPosting();
+        finalCashFlowPosting.getSource().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.settlement));
+        finalCashFlowPosting.getDestination().setAccountType(CashFlowAccount.merchant(MerchantCashFlowAccount.payout));
+        finalCashFlowPosting.getVolume().setAmount(5L);
+        when(partyManagementService.computePayoutCashFlow(
+                eq(partyId),
+                eq(shopId),
+                any(),
+                anyString(),
+                anyString()))
+                .thenReturn(List.of(finalCashFlowPosting));
+        var account = new Account(shop.getAccount().getSettlement(), 1, 1, -1, "RUB");
+        when(shumwayService.hold(anyString(), anyList()))
+                .thenReturn(new PostingPlanLog(Map.of(shop.getAccount().getSettlement(), account)))
+                .thenThrow(new AccounterException("Unavailable"))
+                .thenReturn(getPostingPlanLog(shop));
+        String payoutId = generatePayoutId();
+
+        assertThrows(
+                InsufficientFundsException.class,
+                () -> payoutService.create(partyId, shopId, buildCash(), payoutId, null));
+        assertThrows(NotFoundException.class, () -> payoutService.get(payoutId));
+        assertThrows(
+                AccounterException.class,
+                () -> payoutService.create(partyId, shopId, buildCash(), payoutId, null));
+        assertThrows(NotFoundException.class, () -> payoutService.get(payoutId));
+        verify(shumwayService, times(2)).rollback(eq(payoutId), anyList());
+
+        assertEquals(payoutId, payoutService.create(partyId, shopId, buildCash(), payoutId, null));
+        assertEquals(PayoutStatus.UNPAID, payoutService.get(payoutId).getStatus());
+        assertEquals(1, cashFlowPostingService.getCashFlowPostings(payoutId).size());
+    }
+
     @Test
     public void shouldSaveAndGet() {
         Payout payout = random(Payout.class, "payoutToolInfo");
@@ -363,6 +415,23 @@ public class PayoutServiceTest {
         verify(shumwayService, times(1)).commit(anyString());
     }
 
+    @Test
+    public void shouldReportPendingOrFailedCommitOnRepeatedConfirm() {
+        Payout payout = random(Payout.class, "payoutToolInfo");
+        saveRandomPayout(payout);
+        doThrow(new AccounterException("Unavailable")).when(shumwayService).commit(anyString());
+        assertThrows(AccounterException.class, () -> payoutService.confirm(payout.getPayoutId()));
+        assertThrows(AccounterException.class, () -> payoutService.confirm(payout.getPayoutId()));
+
+        Payout failedPayout = random(Payout.class, "payoutToolInfo");
+        saveRandomPayout(failedPayout);
+        doThrow(new AccounterException("Invalid plan", new InvalidRequest(List.of())))
+                .when(shumwayService).commit(anyString());
+        assertThrows(AccounterException.class, () -> payoutService.confirm(failedPayout.getPayoutId()));
+        assertThrows(InvalidStateException.class, () -> payoutService.confirm(failedPayout.getPayoutId()));
+        assertEquals(PayoutStatus.CONFIRMED, payoutService.get(failedPayout.getPayoutId()).getStatus());
+    }
+
     @Test
     public void shouldOnConfirmCreateDeposit() {
         Payout payout = random(Payout.class, "payoutToolInfo");
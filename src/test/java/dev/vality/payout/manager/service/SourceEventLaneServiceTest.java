@@ -0,0 +1,150 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.machinegun.eventsink.MachineEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@Slf4j
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {SourceEventLaneService.class, SourceEventLaneServiceTest.Config.class},
+        initializers = SourceEventLaneServiceTest.Initializer.class
+)
+@TestPropertySource("classpath:application.yml")
+@DirtiesContext
+public class SourceEventLaneServiceTest {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int SOURCES = 64;
+    private static final int EVENTS_PER_SOURCE = 20;
+    private static final long EVENT_COST_MS = 1;
+
+    @MockBean
+    private SourceHandlerService sourceHandlerService;
+
+    @Autowired
+    private SourceEventLaneService sourceEventLaneService;
+
+    @Test
+    public void shouldKeepOrderWithinSource() {
+        Map<String, List<Long>> handled = record();
+        ReflectionTestUtils.setField(sourceEventLaneService, "lanes", Math.max(CORES, 2));
+        List<MachineEvent> events = events();
+        sourceEventLaneService.handleEvents(events, List.of());
+
+        Map<String, List<Long>> expected = events.stream()
+                .collect(Collectors.groupingBy(
+                        MachineEvent::getSourceId,
+                        Collectors.mapping(MachineEvent::getEventId, Collectors.toList())));
+        assertEquals(expected, handled);
+    }
+
+    @Test
+    public void shouldFailWhenAnyLaneFails() {
+        ReflectionTestUtils.setField(sourceEventLaneService, "lanes", 2);
+        doThrow(new IllegalStateException("lane failed")).when(sourceHandlerService).handleEvents(anyList());
+        doThrow(new IllegalStateException("lane failed"))
+                .when(sourceHandlerService).handleEvents(anyList(), anyCollection());
+        assertThrows(IllegalStateException.class, () -> sourceEventLaneService.handleEvents(events(), List.of()));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+    public void shouldScaleThroughputWithLanes() {
+        record();
+        List<MachineEvent> events = events();
+        var laneCounts = new TreeSet<Integer>();
+        for (int lanes = 1; lanes < CORES; lanes *= 2) {
+            laneCounts.add(lanes);
+        }
+        laneCounts.add(CORES);
+        for (int lanes : laneCounts) {
+            ReflectionTestUtils.setField(sourceEventLaneService, "lanes", lanes);
+            long start = System.nanoTime();
+            sourceEventLaneService.handleEvents(events, List.of());
+            long elapsed = System.nanoTime() - start;
+            log.info("Source lanes stress run, events={}, cores={}, lanes={}, elapsedMs={}, eventsPerSecond={}",
+                    events.size(), CORES, lanes, elapsed / 1_000_000,
+                    events.size() * 1_000_000_000L / Math.max(elapsed, 1));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Long>> record() {
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        Answer<Void> answer = invocation -> {
+            for (MachineEvent event : (List<MachineEvent>) invocation.getArgument(0)) {
+                Thread.sleep(EVENT_COST_MS);
+                handled.computeIfAbsent(event.getSourceId(), id -> new CopyOnWriteArrayList<>())
+                        .add(event.getEventId());
+            }
+            return null;
+        };
+        doAnswer(answer).when(sourceHandlerService).handleEvents(anyList());
+        doAnswer(answer).when(sourceHandlerService).handleEvents(anyList(), anyCollection());
+        return handled;
+    }
+
+    private List<MachineEvent> events() {
+        List<MachineEvent> events = new ArrayList<>();
+        for (long eventId = 1; eventId <= EVENTS_PER_SOURCE; eventId++) {
+            for (int source = 0; source < SOURCES; source++) {
+                events.add(new MachineEvent()
+                        .setSourceId("source_" + source)
+                        .setEventId(eventId));
+            }
+        }
+        return events;
+    }
+
+    @Configuration
+    public static class Config {
+
+        @Bean
+        public ThreadPoolTaskExecutor sourceLaneExecutor() {
+            var executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(Math.max(CORES, 2));
+            executor.setMaxPoolSize(Math.max(CORES, 2));
+            executor.setThreadNamePrefix("source-lane-");
+            return executor;
+        }
+    }
+
+    public static class Initializer extends ConfigDataApplicationContextInitializer {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+            super.initialize(configurableApplicationContext);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.machinegun.eventsink.SinkEvent;
+import dev.vality.payout.manager.exception.NotFoundException;
+import dev.vality.payout.manager.exception.StorageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {SourceEventRetryService.class, SourceEventRetryServiceTest.Config.class},
+        initializers = SourceEventRetryServiceTest.Initializer.class
+)
+@TestPropertySource(
+        locations = "classpath:application.yml",
+        properties = {
+                "kafka.topic.source.consume.retry.max-attempts=3",
+                "kafka.topic.source.consume.retry.initial-interval-ms=1",
+                "kafka.topic.source.consume.retry.max-interval-ms=4"})
+@DirtiesContext
+public class SourceEventRetryServiceTest {
+
+    @MockBean
+    private SourceEventLaneService sourceEventLaneService;
+    @MockBean
+    private SourceHandlerService sourceHandlerService;
+    @MockBean
+    private KafkaTemplate<String, SinkEvent> sourceDeadLetterKafkaTemplate;
+
+    @Autowired
+    private SourceEventRetryService sourceEventRetryService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldIsolatePoisonRecordAndSendItToDeadLetterTopic() throws InterruptedException {
+        var good = record("source_good", 1L, 0);
+        var poison = record("source_poison", 1L, 1);
+        var poisonFollower = record("source_poison", 2L, 2);
+        var other = record("source_other", 1L, 3);
+        doThrow(new IllegalStateException("batch failed"))
+                .when(sourceEventLaneService).handleEvents(argThat(events -> events.size() > 1), anyCollection());
+        doThrow(new NotFoundException("poison"))
+                .when(sourceEventLaneService).handleEvents(eq(single(poison)), anyCollection());
+        var sent = new SettableListenableFuture<>();
+        sent.set(null);
+        doReturn(sent).when(sourceDeadLetterKafkaTemplate).send(any(ProducerRecord.class));
+
+        sourceEventRetryService.handleRecords(List.of(good, poison, poisonFollower, other));
+
+        verify(sourceEventLaneService).handleEvents(eq(single(good)), anyCollection());
+        verify(sourceEventLaneService, times(1)).handleEvents(eq(single(poison)), anyCollection());
+        verify(sourceEventLaneService, never()).handleEvents(eq(single(poisonFollower)), anyCollection());
+        verify(sourceEventLaneService).handleEvents(eq(single(other)), anyCollection());
+
+        ArgumentCaptor<ProducerRecord<String, SinkEvent>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(sourceDeadLetterKafkaTemplate, times(2)).send(captor.capture());
+        assertEquals(List.of(poison.value(), poisonFollower.value()),
+                captor.getAllValues().stream().map(ProducerRecord::value).toList());
+        verify(sourceHandlerService, times(2)).saveOffsets(anyCollection());
+        assertEquals(2.0, meterRegistry.counter("source.events.dead_lettered").count());
+        assertEquals(1L, meterRegistry.timer("source.events.retry.lag", "outcome", "dead_lettered").count());
+    }
+
+    @Test
+    public void shouldSeekBackOnTransientFailures() {
+        var stored = record("source_stored", 1L, 0);
+        var failing = record("source_transient", 1L, 1);
+        doThrow(new IllegalStateException("batch failed"))
+                .when(sourceEventLaneService).handleEvents(argThat(events -> events.size() > 1), anyCollection());
+        doThrow(new StorageException("storage"))
+                .when(sourceEventLaneService).handleEvents(eq(single(stored)), anyCollection());
+        doThrow(new IllegalStateException("transient"))
+                .when(sourceEventLaneService).handleEvents(eq(single(failing)), anyCollection());
+
+        assertThrows(StorageException.class, () -> sourceEventRetryService.handleRecords(List.of(stored, failing)));
+        verify(sourceEventLaneService, times(1)).handleEvents(eq(single(stored)), anyCollection());
+        assertThrows(IllegalStateException.class, () -> sourceEventRetryService.handleRecords(List.of(failing)));
+        verify(sourceEventLaneService, times(4)).handleEvents(eq(single(failing)), anyCollection());
+        verify(sourceDeadLetterKafkaTemplate, never()).send(any(ProducerRecord.class));
+        assertEquals(2.0, meterRegistry.counter("source.events.retries").count());
+    }
+
+    private List<MachineEvent> single(ConsumerRecord<String, SinkEvent> record) {
+        return List.of(record.value().getEvent());
+    }
+
+    private ConsumerRecord<String, SinkEvent> record(String sourceId, long eventId, long offset) {
+        var event = new MachineEvent()
+                .setSourceId(sourceId)
+                .setEventId(eventId);
+        var sinkEvent = new SinkEvent();
+        sinkEvent.setEvent(event);
+        return new ConsumerRecord<>("source", 0, offset, sourceId, sinkEvent);
+    }
+
+    @Configuration
+    public static class Config {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    public static class Initializer extends ConfigDataApplicationContextInitializer {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+            super.initialize(configurableApplicationContext);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.fistful.account.Account;
+import dev.vality.fistful.account.AccountChange;
+import dev.vality.fistful.base.CurrencyRef;
+import dev.vality.fistful.source.*;
+import dev.vality.machinegun.eventsink.MachineEvent;
+import dev.vality.machinegun.msgpack.Value;
+import dev.vality.payout.manager.config.PostgresqlSpringBootITest;
+import dev.vality.payout.manager.dao.SourceDao;
+import dev.vality.payout.manager.dao.SourceOffsetDao;
+import dev.vality.payout.manager.domain.enums.SourceStatus;
+import dev.vality.payout.manager.domain.tables.pojos.Source;
+import dev.vality.payout.manager.domain.tables.pojos.SourceOffset;
+import dev.vality.testcontainers.annotations.util.RandomBeans;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.thrift.TSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.vality.payout.manager.util.ValuesGenerator.generateSourceId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@PostgresqlSpringBootITest
+public class SourceHandlerServiceTest {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int BATCHES = 40;
+
+    @Autowired
+    private SourceHandlerService sourceHandlerService;
+    @Autowired
+    private SourceDao sourceDao;
+    @Autowired
+    private SourceRegistry sourceRegistry;
+    @Autowired
+    private SourceOffsetDao sourceOffsetDao;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong eventIds = new AtomicLong();
+
+    @Test
+    public void shouldFoldBatchIntoFinalSourceStates() {
+        String authorizedId = generateSourceId();
+        String unauthorizedId = generateSourceId();
+        List<MachineEvent> events = new ArrayList<>();
+        events.add(event(authorizedId, Change.created(created())));
+        events.add(event(unauthorizedId, Change.created(created())));
+        events.add(event(authorizedId, account("XTS")));
+        events.add(event(unauthorizedId, account("XTS")));
+        events.add(event(authorizedId, Change.status(new StatusChange(Status.authorized(new Authorized())))));
+        sourceHandlerService.handleEvents(events);
+
+        assertEquals(SourceStatus.AUTHORIZED, sourceDao.get(authorizedId).getStatus());
+        assertEquals("XTS", sourceDao.get(authorizedId).getCurrencyCode());
+        assertEquals(SourceStatus.UNAUTHORIZED, sourceDao.get(unauthorizedId).getStatus());
+        assertEquals(authorizedId, sourceRegistry.getAuthorizedSourceId("XTS"));
+
+        sourceHandlerService.handleEvents(List.of(
+                event(unauthorizedId, Change.status(new StatusChange(Status.authorized(new Authorized())))),
+                event(authorizedId, Change.status(new StatusChange(Status.unauthorized(new Unauthorized()))))));
+        assertEquals(unauthorizedId, sourceRegistry.getAuthorizedSourceId("XTS"));
+    }
+
+    @Test
+    public void shouldSkipReplayedEventsAndStoreOffsets() {
+        String sourceId = generateSourceId();
+        MachineEvent created = event(sourceId, 1L, Change.created(created()));
+        MachineEvent account = event(sourceId, 2L, account("XTS"));
+        double skippedBefore = handlerEvents("AccountChangedSourceHandlerImpl", "skipped");
+        sourceHandlerService.handleEvents(List.of(
+                created,
+                account,
+                account,
+                event(sourceId, 3L, Change.status(new StatusChange(Status.authorized(new Authorized()))))),
+                List.of(new SourceOffset("source", 0, 3L)));
+        assertEquals(skippedBefore + 1, handlerEvents("AccountChangedSourceHandlerImpl", "skipped"));
+        sourceHandlerService.handleEvents(List.of(created), List.of(new SourceOffset("source", 0, 1L)));
+
+        Source source = sourceDao.get(sourceId);
+        assertEquals(SourceStatus.AUTHORIZED, source.getStatus());
+        assertEquals(3L, source.getLastEventId());
+        assertEquals(List.of(new SourceOffset("source", 0, 3L)), sourceOffsetDao.getByTopic("source"));
+    }
+
+    @Test
+    public void shouldMeasureCatchUpThroughput() {
+        List<List<MachineEvent>> batches = new ArrayList<>();
+        for (int i = 0; i < BATCHES; i++) {
+            List<MachineEvent> batch = new ArrayList<>();
+            for (int j = 0; j < BATCH_SIZE / 2; j++) {
+                String sourceId = generateSourceId();
+                batch.add(event(sourceId, Change.created(created())));
+                batch.add(event(sourceId, account("RUB")));
+            }
+            batches.add(batch);
+        }
+        long start = System.nanoTime();
+        batches.forEach(sourceHandlerService::handleEvents);
+        long elapsed = System.nanoTime() - start;
+        log.info("Source catch-up throughput, events={}, eventsPerSecond={}",
+                BATCHES * BATCH_SIZE, BATCHES * BATCH_SIZE * 1_000_000_000L / elapsed);
+    }
+
+    private double handlerEvents(String handler, String outcome) {
+        return meterRegistry.get("source.handler.events")
+                .tags("handler", handler, "outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private dev.vality.fistful.source.Source created() {
+        return RandomBeans.randomThriftOnlyRequiredFields(dev.vality.fistful.source.Source.class);
+    }
+
+    private Change account(String currencyCode) {
+        Account account = RandomBeans.randomThriftOnlyRequiredFields(Account.class);
+        account.setCurrency(new CurrencyRef(currencyCode));
+        return Change.account(AccountChange.created(account));
+    }
+
+    private MachineEvent event(String sourceId, Change change) {
+        return event(sourceId, eventIds.incrementAndGet(), change);
+    }
+
+    @SneakyThrows
+    private MachineEvent event(String sourceId, long eventId, Change change) {
+        var timestampedChange = new TimestampedChange(Instant.now().toString(), change);
+        var data = new Value();
+        data.setBin(new TSerializer().serialize(timestampedChange));
+        var event = new MachineEvent();
+        event.setSourceId(sourceId);
+        event.setSourceNs("source");
+        event.setEventId(eventId);
+        event.setCreatedAt(Instant.now().toString());
+        event.setData(data);
+        return event;
+    }
+}
@@ -0,0 +1,79 @@
+package dev.vality.payout.manager.service;
+
+import dev.vality.payout.manager.dao.SourceDao;
+import dev.vality.payout.manager.domain.enums.SourceStatus;
+import dev.vality.payout.manager.domain.tables.pojos.Source;
+import dev.vality.payout.manager.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = SourceRegistry.class,
+        initializers = SourceRegistryTest.Initializer.class
+)
+@TestPropertySource("classpath:application.yml")
+@DirtiesContext
+public class SourceRegistryTest {
+
+    @MockBean
+    private SourceDao sourceDao;
+
+    @Autowired
+    private SourceRegistry sourceRegistry;
+
+    @Test
+    public void shouldResolveAuthorizedSourceWithoutDatabaseRead() {
+        when(sourceDao.getAll()).thenReturn(List.of(
+                new Source(1L, "source_b", SourceStatus.AUTHORIZED, "RUB", null),
+                new Source(2L, "source_a", SourceStatus.AUTHORIZED, "RUB", null),
+                new Source(3L, "source_c", SourceStatus.UNAUTHORIZED, "USD", null)));
+        sourceRegistry.load();
+        assertEquals("source_a", sourceRegistry.getAuthorizedSourceId("RUB"));
+        assertEquals("source_a", sourceRegistry.getAuthorizedSourceId("RUB"));
+        assertThrows(NotFoundException.class, () -> sourceRegistry.getAuthorizedSourceId("USD"));
+
+        sourceRegistry.updateAfterCommit(new Source(3L, "source_c", SourceStatus.AUTHORIZED, "USD", null));
+        sourceRegistry.updateAfterCommit(new Source(2L, "source_a", SourceStatus.UNAUTHORIZED, "RUB", null));
+        assertEquals("source_c", sourceRegistry.getAuthorizedSourceId("USD"));
+        assertEquals("source_b", sourceRegistry.getAuthorizedSourceId("RUB"));
+        verify(sourceDao, times(1)).getAll();
+    }
+
+    @Test
+    public void shouldReloadSourcesChangedByOtherReplicas() {
+        when(sourceDao.getAll()).thenReturn(List.of(
+                new Source(1L, "source_d", SourceStatus.AUTHORIZED, "EUR", 10L)));
+        sourceRegistry.load();
+        sourceRegistry.updateAfterCommit(new Source(1L, "source_d", SourceStatus.AUTHORIZED, "EUR", 12L));
+
+        when(sourceDao.getAll()).thenReturn(List.of(
+                new Source(1L, "source_d", SourceStatus.AUTHORIZED, "EUR", 11L),
+                new Source(2L, "source_e", SourceStatus.AUTHORIZED, "KZT", 5L)));
+        sourceRegistry.load();
+        assertEquals(12L, sourceRegistry.getLastEventId("source_d"));
+        assertEquals("source_e", sourceRegistry.getAuthorizedSourceId("KZT"));
+    }
+
+    public static class Initializer extends ConfigDataApplicationContextInitializer {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+            super.initialize(configurableApplicationContext);
+        }
+    }
+}
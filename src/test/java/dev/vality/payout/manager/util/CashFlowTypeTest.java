@@ -0,0 +1,77 @@
+package dev.vality.payout.manager.util;
+
+import dev.vality.damsel.domain.*;
+import org.apache.thrift.meta_data.EnumMetaData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CashFlowTypeTest {
+
+    @Test
+    public void shouldClassifyAsLinearScan() {
+        List<CashFlowAccount> accounts = allAccounts();
+        accounts.add(new CashFlowAccount());
+        for (CashFlowAccount source : accounts) {
+            for (CashFlowAccount destination : accounts) {
+                assertEquals(scan(source, destination), CashFlowType.getCashFlowType(source, destination),
+                        String.format("source='%s', destination='%s'", source, destination));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSumCashFlowByType() {
+        var payoutAmount = posting(
+                CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                CashFlowAccount.merchant(MerchantCashFlowAccount.payout), 5L);
+        var payoutFixedFee = posting(
+                CashFlowAccount.merchant(MerchantCashFlowAccount.payout),
+                CashFlowAccount.merchant(MerchantCashFlowAccount.settlement), 1L);
+        var fee = posting(
+                CashFlowAccount.merchant(MerchantCashFlowAccount.settlement),
+                CashFlowAccount.system(SystemCashFlowAccount.settlement), 2L);
+        var postings = List.of(payoutAmount, payoutFixedFee, fee, fee);
+
+        long[] amounts = ThriftUtil.sumCashFlow(postings);
+
+        long[] expected = new long[CashFlowType.count()];
+        ThriftUtil.parseCashFlow(postings).forEach((type, amount) -> expected[type.ordinal()] = amount);
+        assertArrayEquals(expected, amounts);
+        assertEquals(5L, amounts[CashFlowType.PAYOUT_AMOUNT.ordinal()]);
+        assertEquals(1L, amounts[CashFlowType.PAYOUT_FIXED_FEE.ordinal()]);
+        assertEquals(4L, amounts[CashFlowType.FEE.ordinal()]);
+    }
+
+    private static List<CashFlowAccount> allAccounts() {
+        List<CashFlowAccount> accounts = new ArrayList<>();
+        for (CashFlowAccount._Fields field : CashFlowAccount._Fields.values()) {
+            if (CashFlowAccount.metaDataMap.get(field).valueMetaData instanceof EnumMetaData enumMetaData) {
+                for (Object account : enumMetaData.enumClass.getEnumConstants()) {
+                    accounts.add(new CashFlowAccount(field, account));
+                }
+            }
+        }
+        return accounts;
+    }
+
+    private static CashFlowType scan(CashFlowAccount source, CashFlowAccount destination) {
+        for (CashFlowType cashFlowType : CashFlowType.values()) {
+            if (cashFlowType.getSources().contains(source) && cashFlowType.getDestinations().contains(destination)) {
+                return cashFlowType;
+            }
+        }
+        return CashFlowType.UNKNOWN;
+    }
+
+    private static FinalCashFlowPosting posting(CashFlowAccount source, CashFlowAccount destination, long amount) {
+        return new FinalCashFlowPosting()
+                .setSource(new FinalCashFlowAccount().setAccountType(source))
+                .setDestination(new FinalCashFlowAccount().setAccountType(destination))
+                .setVolume(new Cash(amount, new CurrencyRef("RUB")));
+    }
+}
@@ -0,0 +1,58 @@
+package dev.vality.payout.manager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void shouldFallBackWhenVirtualThreadsAreUnavailable() {
+        assertEquals(VirtualThreads.isAvailable(), VirtualThreads.newVirtualThreadPerTaskExecutor().isPresent());
+        assertEquals(VirtualThreads.isAvailable(),
+                VirtualThreads.newBoundedVirtualThreadPerTaskExecutor(1).isPresent());
+    }
+
+    @Test
+    public void shouldRejectTasksOverBound() throws Exception {
+        assumeTrue(VirtualThreads.isAvailable(), "Virtual threads require Java 21+");
+        Executor executor = VirtualThreads.newBoundedVirtualThreadPerTaskExecutor(2).orElseThrow();
+        var release = new CountDownLatch(1);
+        var finished = new CountDownLatch(2);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        };
+        executor.execute(blocked);
+        executor.execute(blocked);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(blocked));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        var done = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        boolean submitted = false;
+        while (!submitted && System.nanoTime() < deadline) {
+            try {
+                executor.execute(done::countDown);
+                submitted = true;
+            } catch (RejectedExecutionException ex) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}